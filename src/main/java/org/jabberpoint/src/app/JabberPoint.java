@@ -2,8 +2,11 @@ package org.jabberpoint.src.app;
 
 import java.io.IOException;
 import javax.swing.JOptionPane;
+import org.jabberpoint.src.command.PreloadImagesCommand;
+import org.jabberpoint.src.io.BinaryPresentationLoader;
 import org.jabberpoint.src.io.PresentationLoader;
 import org.jabberpoint.src.io.PresentationLoaderFactory;
+import org.jabberpoint.src.io.ProgressivePresentationLoader;
 import org.jabberpoint.src.model.Presentation;
 import org.jabberpoint.src.model.Style;
 import org.jabberpoint.src.ui.SlideViewerFrame;
@@ -27,6 +30,8 @@ public class JabberPoint {
   protected static final String IOERR = "IO Error: ";
   protected static final String JABERR = "Jabberpoint Error ";
   protected static final String JABVERSION = "Jabberpoint 1.6 - OU version";
+  // system property to decode all images at startup instead of when their slide is shown
+  protected static final String PRELOAD_IMAGES = "jabberpoint.preloadImages";
 
   /** The Main Program */
   public static void main(String argv[]) {
@@ -47,13 +52,25 @@ public class JabberPoint {
       if (argv.length == 0) {
         // Load a demo presentation
         loader = PresentationLoaderFactory.createLoader("demo");
+      } else if (BinaryPresentationLoader.isBinaryFile(argv[0])) {
+        // Open a binary file, its slides are read when they are shown
+        loader = PresentationLoaderFactory.createLoader("mapped");
       } else {
-        // Load from XML file
-        loader = PresentationLoaderFactory.createLoader("xml");
+        // Load from XML file, showing the first slide while the rest is still being parsed
+        loader = PresentationLoaderFactory.createLoader("progressive");
       }
 
       loader.loadPresentation(presentation, argv.length == 0 ? "" : argv[0]);
       presentation.setSlideNumber(0);
+
+      if (Boolean.getBoolean(PRELOAD_IMAGES)) {
+        PreloadImagesCommand preload = new PreloadImagesCommand(presentation);
+        if (loader instanceof ProgressivePresentationLoader) {
+          ((ProgressivePresentationLoader) loader).whenLoaded().thenRun(preload::execute);
+        } else {
+          preload.execute();
+        }
+      }
     } catch (IOException ex) {
       JOptionPane.showMessageDialog(null, IOERR + ex, JABERR, JOptionPane.ERROR_MESSAGE);
     }
@@ -5,6 +5,7 @@ import java.awt.GraphicsEnvironment;
 import java.io.IOException;
 import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
+import org.jabberpoint.src.io.BinaryPresentationLoader;
 import org.jabberpoint.src.io.PresentationLoader;
 import org.jabberpoint.src.io.PresentationLoaderFactory;
 import org.jabberpoint.src.model.Presentation;
@@ -41,8 +42,13 @@ public class OpenFileCommand implements Command {
     int returnVal = fileChooser.showOpenDialog(parent);
     if (returnVal == JFileChooser.APPROVE_OPTION) {
       try {
-        PresentationLoader loader = PresentationLoaderFactory.createLoader("xml");
-        loader.loadPresentation(presentation, fileChooser.getSelectedFile().getPath());
+        String filename = fileChooser.getSelectedFile().getPath();
+        // Binary files are mapped and XML files are loaded progressively, so both return
+        // before all slides have been read
+        PresentationLoader loader =
+            PresentationLoaderFactory.createLoader(
+                BinaryPresentationLoader.isBinaryFile(filename) ? "mapped" : "progressive");
+        loader.loadPresentation(presentation, filename);
         presentation.setSlideNumber(0);
       } catch (IOException exc) {
         JOptionPane.showMessageDialog(
@@ -0,0 +1,41 @@
+package org.jabberpoint.src.command;
+
+import org.jabberpoint.src.model.BitmapItem;
+import org.jabberpoint.src.model.Presentation;
+import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.model.SlideItem;
+
+/** Command implementation for moving the shown part of the zoomed images of the current slide */
+public class PanCommand implements Command {
+  private Presentation presentation;
+  private double dx;
+  private double dy;
+
+  /**
+   * Constructor
+   *
+   * @param presentation The presentation to operate on
+   * @param dx The horizontal distance, as a fraction of the width of the shown part
+   * @param dy The vertical distance, as a fraction of the height of the shown part
+   */
+  public PanCommand(Presentation presentation, double dx, double dy) {
+    this.presentation = presentation;
+    this.dx = dx;
+    this.dy = dy;
+  }
+
+  /** Executes the command to pan the zoomed images of the current slide */
+  @Override
+  public void execute() {
+    Slide slide = presentation.getCurrentSlide();
+    if (slide == null) {
+      return;
+    }
+    for (SlideItem item : slide.getSlideItems()) {
+      if (item instanceof BitmapItem && ((BitmapItem) item).getZoom() > 1.0f) {
+        ((BitmapItem) item).pan(dx, dy);
+      }
+    }
+    presentation.refresh();
+  }
+}
@@ -0,0 +1,35 @@
+package org.jabberpoint.src.command;
+
+import java.util.concurrent.CompletableFuture;
+import org.jabberpoint.src.model.ImageDecoder;
+import org.jabberpoint.src.model.Presentation;
+
+/** Command implementation for decoding the images of all slides in parallel */
+public class PreloadImagesCommand implements Command {
+  private Presentation presentation;
+  private CompletableFuture<Void> preloaded = CompletableFuture.completedFuture(null);
+
+  /**
+   * Constructor
+   *
+   * @param presentation The presentation to operate on
+   */
+  public PreloadImagesCommand(Presentation presentation) {
+    this.presentation = presentation;
+  }
+
+  /** Executes the command to start decoding all images in the background */
+  @Override
+  public void execute() {
+    preloaded = ImageDecoder.preloadAll(presentation);
+  }
+
+  /**
+   * Gives the completion of the last execution
+   *
+   * @return A future that completes when all images have been decoded or have failed
+   */
+  public CompletableFuture<Void> whenPreloaded() {
+    return preloaded;
+  }
+}
@@ -5,6 +5,7 @@ import java.awt.GraphicsEnvironment;
 import java.io.IOException;
 import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
+import org.jabberpoint.src.io.BinaryPresentationLoader;
 import org.jabberpoint.src.io.XMLPresentationLoader;
 import org.jabberpoint.src.model.Presentation;
 
@@ -40,8 +41,13 @@ public class SaveFileCommand implements Command {
     int returnVal = fileChooser.showSaveDialog(parent);
     if (returnVal == JFileChooser.APPROVE_OPTION) {
       try {
-        XMLPresentationLoader xmlLoader = new XMLPresentationLoader();
-        xmlLoader.savePresentation(presentation, fileChooser.getSelectedFile().getPath());
+        String filename = fileChooser.getSelectedFile().getPath();
+        if (BinaryPresentationLoader.isBinaryFile(filename)) {
+          new BinaryPresentationLoader().savePresentation(presentation, filename);
+        } else {
+          XMLPresentationLoader xmlLoader = new XMLPresentationLoader();
+          xmlLoader.savePresentation(presentation, filename);
+        }
       } catch (IOException exc) {
         JOptionPane.showMessageDialog(
             parent,
@@ -0,0 +1,39 @@
+package org.jabberpoint.src.command;
+
+import org.jabberpoint.src.model.BitmapItem;
+import org.jabberpoint.src.model.Presentation;
+import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.model.SlideItem;
+
+/** Command implementation for zooming into the images of the current slide */
+public class ZoomCommand implements Command {
+  private Presentation presentation;
+  private float factor;
+
+  /**
+   * Constructor
+   *
+   * @param presentation The presentation to operate on
+   * @param factor The factor to multiply the zoom by, below 1 to zoom out
+   */
+  public ZoomCommand(Presentation presentation, float factor) {
+    this.presentation = presentation;
+    this.factor = factor;
+  }
+
+  /** Executes the command to zoom the images of the current slide */
+  @Override
+  public void execute() {
+    Slide slide = presentation.getCurrentSlide();
+    if (slide == null) {
+      return;
+    }
+    for (SlideItem item : slide.getSlideItems()) {
+      if (item instanceof BitmapItem) {
+        BitmapItem bitmap = (BitmapItem) item;
+        bitmap.setZoom(bitmap.getZoom() * factor);
+      }
+    }
+    presentation.refresh();
+  }
+}
@@ -7,7 +7,9 @@ import java.util.Map;
 import org.jabberpoint.src.command.Command;
 import org.jabberpoint.src.command.ExitCommand;
 import org.jabberpoint.src.command.NextSlideCommand;
+import org.jabberpoint.src.command.PanCommand;
 import org.jabberpoint.src.command.PrevSlideCommand;
+import org.jabberpoint.src.command.ZoomCommand;
 import org.jabberpoint.src.model.Presentation;
 
 /**
@@ -24,6 +26,8 @@ import org.jabberpoint.src.model.Presentation;
  * @version 1.6 2014/05/16 Sylvia Stuurman
  */
 public class KeyController extends KeyAdapter {
+  private static final float ZOOM_STEP = 1.5f;
+  private static final double PAN_STEP = 0.25; // a quarter of the shown part of an image
   private Map<Integer, Command> commands = new HashMap<>();
 
   public KeyController(Presentation p) {
@@ -37,6 +41,16 @@ public class KeyController extends KeyAdapter {
     commands.put(KeyEvent.VK_UP, new PrevSlideCommand(p));
     commands.put((int) '-', new PrevSlideCommand(p));
 
+    // Zoom into and pan the images of the current slide
+    commands.put(KeyEvent.VK_I, new ZoomCommand(p, ZOOM_STEP));
+    commands.put(KeyEvent.VK_O, new ZoomCommand(p, 1 / ZOOM_STEP));
+    commands.put(KeyEvent.VK_LEFT, new PanCommand(p, -PAN_STEP, 0));
+    commands.put(KeyEvent.VK_H, new PanCommand(p, -PAN_STEP, 0));
+    commands.put(KeyEvent.VK_RIGHT, new PanCommand(p, PAN_STEP, 0));
+    commands.put(KeyEvent.VK_L, new PanCommand(p, PAN_STEP, 0));
+    commands.put(KeyEvent.VK_K, new PanCommand(p, 0, -PAN_STEP));
+    commands.put(KeyEvent.VK_J, new PanCommand(p, 0, PAN_STEP));
+
     commands.put((int) 'q', new ExitCommand(p));
     commands.put((int) 'Q', new ExitCommand(p));
   }
@@ -13,6 +13,7 @@ import org.jabberpoint.src.io.Accessor;
 import org.jabberpoint.src.io.XMLAccessor;
 import org.jabberpoint.src.model.Presentation;
 import org.jabberpoint.src.ui.AboutBox;
+import org.jabberpoint.src.ui.SlideSorterComponent;
 
 /**
  * The controller for the menu
@@ -43,6 +44,7 @@ public class MenuController extends MenuBar {
   protected static final String PAGENR = "Page number?";
   protected static final String PREV = "Prev";
   protected static final String SAVE = "Save";
+  protected static final String THUMBNAILS = "Thumbnails";
   protected static final String VIEW = "View";
 
   protected static final String TESTFILE = "src/main/java/org/jabberpoint/OurPresentation.xml";
@@ -125,6 +127,13 @@ public class MenuController extends MenuBar {
             presentation.setSlideNumber(pageNumber - 1);
           }
         });
+    viewMenu.add(menuItem = mkMenuItem(THUMBNAILS));
+    menuItem.addActionListener(
+        new ActionListener() {
+          public void actionPerformed(ActionEvent actionEvent) {
+            SlideSorterComponent.showWindow(presentation);
+          }
+        });
     add(viewMenu);
     Menu helpMenu = new Menu(HELP);
     helpMenu.add(menuItem = mkMenuItem(ABOUT));
@@ -0,0 +1,154 @@
+package org.jabberpoint.src.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.model.SlideItemFactory;
+
+/**
+ * Random access to a presentation in the binary format written by {@link BinaryPresentationLoader}.
+ *
+ * <p>The file is memory-mapped and only the header is decoded when it is opened. Any slide can then
+ * be decoded on demand by looking up its offset in the slide index, so opening a file takes
+ * constant time and heap regardless of the number of slides. Reading is safe from several threads.
+ *
+ * <p>Layout, all numbers big-endian:
+ *
+ * <pre>
+ * header:  magic (int), version (int), slide count (int), index offset (long), title (string)
+ * slides:  title (string), item count (int), items: kind (byte), level (int), content (string)
+ * index:   offset of every slide (long), starting at the index offset
+ * string:  byte length (int, -1 for null) followed by the UTF-8 bytes
+ * </pre>
+ */
+public class BinaryPresentationFile implements Closeable {
+  static final int MAGIC = 0x4A425054; // "JBPT"
+  static final int VERSION = 1;
+  static final int INDEX_OFFSET_POSITION = 12;
+  static final int HEADER_SIZE = 20; // without the title
+  static final byte KIND_TEXT = 1;
+  static final byte KIND_IMAGE = 2;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer buffer;
+  private final String title;
+  private final int slideCount;
+  private final int indexOffset;
+
+  private BinaryPresentationFile(FileChannel channel, MappedByteBuffer buffer) throws IOException {
+    this.channel = channel;
+    this.buffer = buffer;
+    try {
+      if (buffer.getInt(0) != MAGIC) {
+        throw new IOException("Not a binary presentation file");
+      }
+      if (buffer.getInt(4) != VERSION) {
+        throw new IOException("Unsupported binary presentation version: " + buffer.getInt(4));
+      }
+      slideCount = buffer.getInt(8);
+      long index = buffer.getLong(INDEX_OFFSET_POSITION);
+      if (slideCount < 0 || index < HEADER_SIZE || index + 8L * slideCount > buffer.capacity()) {
+        throw new IOException("Corrupt slide index");
+      }
+      indexOffset = (int) index;
+      ByteBuffer in = buffer.duplicate();
+      in.position(HEADER_SIZE);
+      title = readString(in);
+    } catch (IndexOutOfBoundsException | BufferUnderflowException | IllegalArgumentException x) {
+      throw new IOException("Corrupt binary presentation header", x);
+    }
+  }
+
+  /**
+   * Opens a binary presentation file
+   *
+   * @param filename The file to open
+   * @return The opened file, to be closed by the caller
+   * @throws IOException If the file cannot be read or is not a binary presentation
+   */
+  public static BinaryPresentationFile open(String filename) throws IOException {
+    FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ);
+    try {
+      long size = channel.size();
+      if (size < HEADER_SIZE) {
+        throw new IOException("Not a binary presentation file: " + filename);
+      }
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException("Binary presentation files are limited to 2 GB: " + filename);
+      }
+      return new BinaryPresentationFile(
+          channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+    } catch (IOException | RuntimeException x) {
+      channel.close();
+      throw x;
+    }
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public int getSlideCount() {
+    return slideCount;
+  }
+
+  /**
+   * Decodes one slide
+   *
+   * @param number The number of the slide, starting at 0
+   * @return A new Slide with the items of the slide
+   * @throws IOException If the slide record is corrupt
+   */
+  public Slide readSlide(int number) throws IOException {
+    if (number < 0 || number >= slideCount) {
+      throw new IndexOutOfBoundsException("Slide " + number + " of " + slideCount);
+    }
+    try {
+      ByteBuffer in = buffer.duplicate();
+      in.position((int) buffer.getLong(indexOffset + 8 * number));
+      Slide slide = new Slide();
+      slide.setTitle(readString(in));
+      int items = in.getInt();
+      for (int itemNumber = 0; itemNumber < items; itemNumber++) {
+        byte kind = in.get();
+        int level = in.getInt();
+        String content = readString(in);
+        if (kind == KIND_TEXT) {
+          slide.append(SlideItemFactory.createSlideItem("text", level, content));
+        } else if (kind == KIND_IMAGE) {
+          slide.append(SlideItemFactory.createSlideItem("image", level, content));
+        } else {
+          System.err.println("Unknown item kind " + kind + " in slide " + number);
+        }
+      }
+      return slide;
+    } catch (IndexOutOfBoundsException | BufferUnderflowException | IllegalArgumentException x) {
+      throw new IOException("Corrupt record for slide " + number, x);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private static String readString(ByteBuffer in) {
+    int length = in.getInt();
+    if (length < 0) {
+      return null;
+    }
+    if (length > in.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    byte[] bytes = new byte[length];
+    in.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,146 @@
+package org.jabberpoint.src.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.jabberpoint.src.model.BitmapItem;
+import org.jabberpoint.src.model.Presentation;
+import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.model.SlideItem;
+import org.jabberpoint.src.model.TextItem;
+
+/**
+ * Strategy implementation for loading presentations from the compact binary format.
+ *
+ * <p>The format stores a slide index, see {@link BinaryPresentationFile}, so no text has to be
+ * parsed and single slides can be decoded without reading the rest of the file.
+ */
+public class BinaryPresentationLoader implements PresentationLoader {
+  /** The file extension of binary presentations */
+  public static final String EXTENSION = ".jbp";
+
+  /**
+   * Tells whether a file is a binary presentation
+   *
+   * @param filename The name of the file
+   * @return true if the name has the binary extension
+   */
+  public static boolean isBinaryFile(String filename) {
+    return filename.toLowerCase().endsWith(EXTENSION);
+  }
+
+  /** Loads a presentation from a binary file */
+  @Override
+  public void loadPresentation(Presentation presentation, String filename) throws IOException {
+    try (BinaryPresentationFile file = BinaryPresentationFile.open(filename)) {
+      presentation.setTitle(file.getTitle());
+      List<Slide> slides = new ArrayList<>(file.getSlideCount());
+      for (int slideNumber = 0; slideNumber < file.getSlideCount(); slideNumber++) {
+        slides.add(file.readSlide(slideNumber));
+      }
+      presentation.setSlides(slides); // all slides at once, with one notification
+    }
+  }
+
+  /**
+   * Saves a presentation to a binary file
+   *
+   * <p>The slides are written to a temporary file next to the target, which then replaces the
+   * target. The slides of a presentation opened with {@link MappedPresentationLoader} are read from
+   * the target while it is written, so it must not be truncated first.
+   */
+  public void savePresentation(Presentation presentation, String filename) throws IOException {
+    Path target = Path.of(filename).toAbsolutePath();
+    Path temporary = Files.createTempFile(target.getParent(), "presentation", ".tmp");
+    try {
+      write(presentation, temporary);
+      Files.move(
+          temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  private void write(Presentation presentation, Path path) throws IOException {
+    int slideCount = presentation.getSize();
+    long[] offsets = new long[slideCount];
+    try (FileChannel channel =
+        FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+      out.writeInt(BinaryPresentationFile.MAGIC);
+      out.writeInt(BinaryPresentationFile.VERSION);
+      out.writeInt(slideCount);
+      out.writeLong(0L); // the index offset is filled in when it is known
+      long position =
+          BinaryPresentationFile.HEADER_SIZE + writeString(out, presentation.getTitle());
+      for (int slideNumber = 0; slideNumber < slideCount; slideNumber++) {
+        byte[] record = encodeSlide(presentation.getSlide(slideNumber));
+        offsets[slideNumber] = position;
+        out.write(record);
+        position += record.length;
+      }
+      for (long offset : offsets) {
+        out.writeLong(offset);
+      }
+      out.flush();
+      ByteBuffer indexOffset = ByteBuffer.allocate(Long.BYTES).putLong(0, position);
+      channel.write(indexOffset, BinaryPresentationFile.INDEX_OFFSET_POSITION);
+    }
+  }
+
+  private byte[] encodeSlide(Slide slide) throws IOException {
+    ByteArrayOutputStream record = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(record);
+    writeString(out, slide.getTitle());
+    int itemCount = 0;
+    ByteArrayOutputStream items = new ByteArrayOutputStream();
+    DataOutputStream itemsOut = new DataOutputStream(items);
+    for (int itemNumber = 0; itemNumber < slide.getSize(); itemNumber++) {
+      SlideItem slideItem = slide.getSlideItem(itemNumber);
+      if (slideItem instanceof TextItem) {
+        itemsOut.writeByte(BinaryPresentationFile.KIND_TEXT);
+        itemsOut.writeInt(slideItem.getLevel());
+        writeString(itemsOut, ((TextItem) slideItem).getText());
+      } else if (slideItem instanceof BitmapItem) {
+        itemsOut.writeByte(BinaryPresentationFile.KIND_IMAGE);
+        itemsOut.writeInt(slideItem.getLevel());
+        writeString(itemsOut, ((BitmapItem) slideItem).getImageName());
+      } else {
+        System.out.println("Ignoring unknown SlideItem type: " + slideItem.getClass().getName());
+        continue;
+      }
+      itemCount++;
+    }
+    out.writeInt(itemCount);
+    items.writeTo(out);
+    return record.toByteArray();
+  }
+
+  // Writes a length-prefixed UTF-8 string and gives the number of bytes written
+  private static int writeString(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return Integer.BYTES;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+    return Integer.BYTES + bytes.length;
+  }
+}
@@ -0,0 +1,204 @@
+package org.jabberpoint.src.io;
+
+import java.awt.Rectangle;
+import java.awt.font.FontRenderContext;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import org.jabberpoint.src.model.Presentation;
+import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.model.SlideLayout;
+import org.jabberpoint.src.model.TextRenderContext;
+
+/**
+ * Lays out every slide of a presentation without a screen and reports the slides whose content is
+ * higher than a slide.
+ *
+ * <p>The slides are laid out in parallel on a fork/join pool, each at the size of a slide, with a
+ * font render context instead of the graphics of a window, so decks can be checked on a build
+ * server. Laying out a slide also reads the sizes of its images from their headers.
+ */
+public class DeckAnalyzer {
+  private final ForkJoinPool pool;
+  private final FontRenderContext frc;
+
+  /** Analyzes on the common pool, measuring text as slides are painted */
+  public DeckAnalyzer() {
+    this(ForkJoinPool.commonPool(), TextRenderContext.get());
+  }
+
+  /**
+   * Constructor
+   *
+   * @param pool The pool the slides are laid out on
+   * @param frc The render context text is measured with
+   */
+  public DeckAnalyzer(ForkJoinPool pool, FontRenderContext frc) {
+    this.pool = pool;
+    this.frc = frc;
+  }
+
+  /**
+   * Lays out all slides of a presentation
+   *
+   * @param presentation The presentation
+   * @return The report with the heights of all slides
+   */
+  public Report analyze(Presentation presentation) {
+    long start = System.nanoTime();
+    List<SlideReport> reports;
+    try {
+      reports = SlideTasks.forEachSlide(pool, presentation, this::analyze);
+    } catch (InterruptedException x) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Analysis interrupted", x);
+    }
+    return new Report(reports, System.nanoTime() - start);
+  }
+
+  // lay out one slide at the size of a slide
+  private SlideReport analyze(int slideNumber, Slide slide) {
+    if (slide == null) {
+      return new SlideReport(slideNumber, "", 0, new int[0], 0);
+    }
+    long start = System.nanoTime();
+    SlideLayout layout =
+        SlideLayout.layout(slide, new Rectangle(0, 0, Slide.WIDTH, Slide.HEIGHT), frc, null);
+    return new SlideReport(
+        slideNumber,
+        slide.getTitle(),
+        layout.getHeight(),
+        layout.getItemHeights(),
+        System.nanoTime() - start);
+  }
+
+  /** The layout of all slides of a presentation */
+  public static final class Report {
+    private final List<SlideReport> slides;
+    private final long elapsedNanos;
+
+    Report(List<SlideReport> slides, long elapsedNanos) {
+      this.slides = Collections.unmodifiableList(slides);
+      this.elapsedNanos = elapsedNanos;
+    }
+
+    public List<SlideReport> getSlides() {
+      return slides;
+    }
+
+    /** Gives the slides whose content is higher than a slide */
+    public List<SlideReport> getOverflowing() {
+      return slides.stream().filter(SlideReport::isOverflowing).collect(Collectors.toList());
+    }
+
+    /** Gives the time from the start of the analysis until all slides were laid out */
+    public long getElapsedNanos() {
+      return elapsedNanos;
+    }
+
+    /** Gives the time spent laying out slides, summed over all threads */
+    public long getLayoutNanos() {
+      return slides.stream().mapToLong(SlideReport::getLayoutNanos).sum();
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder text = new StringBuilder();
+      List<SlideReport> overflowing = getOverflowing();
+      text.append(slides.size())
+          .append(" slides laid out in ")
+          .append(elapsedNanos / 1_000_000)
+          .append(" ms (")
+          .append(getLayoutNanos() / 1_000_000)
+          .append(" ms of layout), ")
+          .append(overflowing.size())
+          .append(" overflowing")
+          .append(System.lineSeparator());
+      for (SlideReport slide : overflowing) {
+        text.append(slide).append(System.lineSeparator());
+      }
+      return text.toString();
+    }
+  }
+
+  /** The layout of one slide */
+  public static final class SlideReport {
+    private final int slideNumber;
+    private final String title;
+    private final int height;
+    private final int[] itemHeights;
+    private final long layoutNanos;
+
+    SlideReport(int slideNumber, String title, int height, int[] itemHeights, long layoutNanos) {
+      this.slideNumber = slideNumber;
+      this.title = title;
+      this.height = height;
+      this.itemHeights = itemHeights;
+      this.layoutNanos = layoutNanos;
+    }
+
+    public int getSlideNumber() {
+      return slideNumber;
+    }
+
+    public String getTitle() {
+      return title;
+    }
+
+    /** Gives the height of the title and all items together */
+    public int getHeight() {
+      return height;
+    }
+
+    /** Gives the heights of the items, the title first */
+    public int[] getItemHeights() {
+      return itemHeights.clone();
+    }
+
+    public long getLayoutNanos() {
+      return layoutNanos;
+    }
+
+    /** Tells whether the content is higher than a slide */
+    public boolean isOverflowing() {
+      return height > Slide.HEIGHT;
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder heights = new StringBuilder();
+      for (int itemHeight : itemHeights) {
+        heights.append(heights.length() == 0 ? "" : ", ").append(itemHeight);
+      }
+      return "Slide "
+          + (slideNumber + 1)
+          + " \""
+          + title
+          + "\": "
+          + height
+          + " of "
+          + Slide.HEIGHT
+          + " pixels high, items "
+          + heights;
+    }
+  }
+
+  /** Analyzes the file given as argument and prints the overflowing slides */
+  public static void main(String[] argv) {
+    if (argv.length != 1) {
+      System.err.println("Usage: DeckAnalyzer <presentation>");
+      System.exit(2);
+    }
+    System.setProperty("java.awt.headless", "true");
+    try {
+      Report report = new DeckAnalyzer().analyze(SlideTasks.load(argv[0]));
+      System.out.print(report);
+      System.exit(report.getOverflowing().isEmpty() ? 0 : 3);
+    } catch (IOException iox) {
+      System.err.println("IO Error: " + iox.getMessage());
+      System.exit(1);
+    }
+  }
+}
@@ -1,5 +1,7 @@
 package org.jabberpoint.src.io;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.jabberpoint.src.model.BitmapItem;
 import org.jabberpoint.src.model.Presentation;
 import org.jabberpoint.src.model.Slide;
@@ -19,6 +21,7 @@ public class DemoPresentation extends Accessor {
 
   public void loadFile(Presentation presentation, String unusedFilename) {
     presentation.setTitle("Demo Presentation");
+    List<Slide> slides = new ArrayList<>(3);
     Slide slide;
     slide = new Slide();
     slide.setTitle("JabberPoint");
@@ -32,7 +35,7 @@ public class DemoPresentation extends Accessor {
     slide.append(3, "Next slide: PgDn or Enter");
     slide.append(3, "Previous slide: PgUp or up-arrow");
     slide.append(3, "Quit: q or Q");
-    presentation.append(slide);
+    slides.add(slide);
 
     slide = new Slide();
     slide.setTitle("Demonstration of levels and stijlen");
@@ -43,7 +46,7 @@ public class DemoPresentation extends Accessor {
     slide.append(2, "Level 2 has style number  2");
     slide.append(3, "This is how level 3 looks like");
     slide.append(4, "And this is level 4");
-    presentation.append(slide);
+    slides.add(slide);
 
     slide = new Slide();
     slide.setTitle("The third slide");
@@ -52,7 +55,8 @@ public class DemoPresentation extends Accessor {
     slide.append(1, " ");
     slide.append(1, "This is the end of the presentation.");
     slide.append(new BitmapItem(1, "JabberPoint.jpg"));
-    presentation.append(slide);
+    slides.add(slide);
+    presentation.setSlides(slides);
   }
 
   public void saveFile(Presentation presentation, String unusedFilename) {
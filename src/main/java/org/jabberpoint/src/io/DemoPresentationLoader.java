@@ -1,6 +1,8 @@
 package org.jabberpoint.src.io;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import org.jabberpoint.src.model.BitmapItem;
 import org.jabberpoint.src.model.Presentation;
 import org.jabberpoint.src.model.Slide;
@@ -12,6 +14,7 @@ public class DemoPresentationLoader implements PresentationLoader {
   @Override
   public void loadPresentation(Presentation presentation, String source) throws IOException {
     presentation.setTitle("Demo Presentation");
+    List<Slide> slides = new ArrayList<>(3);
     Slide slide;
     slide = new Slide();
     slide.setTitle("JabberPoint");
@@ -25,7 +28,7 @@ public class DemoPresentationLoader implements PresentationLoader {
     slide.append(3, "Next slide: PgDn or Enter");
     slide.append(3, "Previous slide: PgUp or up-arrow");
     slide.append(3, "Quit: q or Q");
-    presentation.append(slide);
+    slides.add(slide);
 
     slide = new Slide();
     slide.setTitle("Demonstration of levels and styles");
@@ -36,7 +39,7 @@ public class DemoPresentationLoader implements PresentationLoader {
     slide.append(2, "Level 2 has style number 2");
     slide.append(3, "This is how level 3 looks like");
     slide.append(4, "And this is level 4");
-    presentation.append(slide);
+    slides.add(slide);
 
     slide = new Slide();
     slide.setTitle("The third slide");
@@ -45,6 +48,7 @@ public class DemoPresentationLoader implements PresentationLoader {
     slide.append(1, " ");
     slide.append(1, "This is the end of the presentation.");
     slide.append(new BitmapItem(1, "JabberPoint.jpg"));
-    presentation.append(slide);
+    slides.add(slide);
+    presentation.setSlides(slides);
   }
 }
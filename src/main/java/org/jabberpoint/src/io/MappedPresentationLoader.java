@@ -0,0 +1,35 @@
+package org.jabberpoint.src.io;
+
+import java.io.IOException;
+import org.jabberpoint.src.model.Presentation;
+
+/**
+ * Strategy implementation that opens a binary presentation without loading its slides.
+ *
+ * <p>The presentation gets a {@link MappedSlideStore}, so slides are decoded from the mapped file
+ * when they are shown and opening takes constant time and heap, whatever the size of the deck.
+ */
+public class MappedPresentationLoader implements PresentationLoader {
+  private final int cacheSize;
+
+  public MappedPresentationLoader() {
+    this(MappedSlideStore.DEFAULT_CACHE_SIZE);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param cacheSize The maximum number of decoded slides kept in memory
+   */
+  public MappedPresentationLoader(int cacheSize) {
+    this.cacheSize = cacheSize;
+  }
+
+  /** Replaces the slides of the presentation by the slides of a binary file */
+  @Override
+  public void loadPresentation(Presentation presentation, String filename) throws IOException {
+    BinaryPresentationFile file = BinaryPresentationFile.open(filename);
+    presentation.setTitle(file.getTitle());
+    presentation.setSlideStore(new MappedSlideStore(file, cacheSize));
+  }
+}
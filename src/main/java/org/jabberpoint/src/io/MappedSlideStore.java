@@ -0,0 +1,126 @@
+package org.jabberpoint.src.io;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.model.SlideStore;
+
+/**
+ * Read-only slide store that decodes slides on demand from a memory-mapped binary presentation.
+ *
+ * <p>Only a bounded number of recently used slides is kept as Slide objects, so the heap used by a
+ * presentation does not grow with the number of slides in the file. Slides are read without taking
+ * a lock, so painting never waits for another thread: cached slides come from a concurrent map, and
+ * missing slides are decoded by the reader. When the cache has grown past its size, one reader at a
+ * time evicts the least recently used slides.
+ */
+public class MappedSlideStore implements SlideStore {
+  /** The default number of slides that is kept in memory */
+  public static final int DEFAULT_CACHE_SIZE = 32;
+
+  private final BinaryPresentationFile file;
+  private final int cacheSize;
+  private final ConcurrentMap<Integer, CachedSlide> cache = new ConcurrentHashMap<>();
+  private final AtomicLong clock = new AtomicLong(); // orders the uses of the slides
+  private final ReentrantLock eviction = new ReentrantLock();
+
+  /**
+   * Constructor
+   *
+   * @param file The opened binary file, closed when the store is disposed
+   * @param cacheSize The maximum number of decoded slides kept in memory
+   */
+  public MappedSlideStore(BinaryPresentationFile file, int cacheSize) {
+    if (cacheSize < 1) {
+      throw new IllegalArgumentException("Cache size must be at least 1: " + cacheSize);
+    }
+    this.file = file;
+    this.cacheSize = cacheSize;
+  }
+
+  @Override
+  public int size() {
+    return file.getSlideCount();
+  }
+
+  @Override
+  public Slide get(int number) {
+    CachedSlide cached = cache.get(number);
+    if (cached == null) {
+      Slide slide;
+      try {
+        slide = file.readSlide(number);
+      } catch (IOException iox) {
+        System.err.println(iox.getMessage());
+        return null;
+      }
+      // a slide decoded meanwhile by another reader wins, so every reader sees the same Slide
+      CachedSlide decoded = new CachedSlide(slide);
+      cached = cache.putIfAbsent(number, decoded);
+      if (cached == null) {
+        cached = decoded;
+      }
+      cached.used = clock.incrementAndGet();
+      evict();
+    } else {
+      cached.used = clock.incrementAndGet();
+    }
+    return cached.slide;
+  }
+
+  /**
+   * Gives the number of slides that are currently decoded
+   *
+   * @return The number of cached slides
+   */
+  public int getCachedSlideCount() {
+    return cache.size();
+  }
+
+  @Override
+  public void dispose() {
+    cache.clear();
+    try {
+      file.close();
+    } catch (IOException iox) {
+      System.err.println(iox.getMessage());
+    }
+  }
+
+  // remove the least recently used slides until the cache fits; skipped if another reader does it
+  private void evict() {
+    if (cache.size() <= cacheSize || !eviction.tryLock()) {
+      return;
+    }
+    try {
+      while (cache.size() > cacheSize) {
+        Map.Entry<Integer, CachedSlide> eldest = null;
+        for (Map.Entry<Integer, CachedSlide> entry : cache.entrySet()) {
+          if (eldest == null || entry.getValue().used < eldest.getValue().used) {
+            eldest = entry;
+          }
+        }
+        if (eldest == null) {
+          return;
+        }
+        cache.remove(eldest.getKey(), eldest.getValue());
+      }
+    } finally {
+      eviction.unlock();
+    }
+  }
+
+  /** A decoded slide and when it was last used */
+  private static final class CachedSlide {
+    private final Slide slide;
+    private volatile long used;
+
+    CachedSlide(Slide slide) {
+      this.slide = slide;
+    }
+  }
+}
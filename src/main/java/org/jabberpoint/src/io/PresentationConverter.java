@@ -0,0 +1,48 @@
+package org.jabberpoint.src.io;
+
+import java.io.IOException;
+import org.jabberpoint.src.model.Presentation;
+
+/**
+ * Converts presentations between the XML and the binary format.
+ *
+ * <p>The format of each file is taken from its extension: files ending in {@link
+ * BinaryPresentationLoader#EXTENSION} are binary, all other files are XML.
+ */
+public class PresentationConverter {
+
+  /**
+   * Converts a presentation file
+   *
+   * @param source The file to read
+   * @param target The file to write
+   * @throws IOException If reading or writing fails
+   */
+  public static void convert(String source, String target) throws IOException {
+    Presentation presentation = new Presentation();
+    if (BinaryPresentationLoader.isBinaryFile(source)) {
+      new BinaryPresentationLoader().loadPresentation(presentation, source);
+    } else {
+      new StaxPresentationLoader().loadPresentation(presentation, source);
+    }
+    if (BinaryPresentationLoader.isBinaryFile(target)) {
+      new BinaryPresentationLoader().savePresentation(presentation, target);
+    } else {
+      new XMLPresentationLoader().savePresentation(presentation, target);
+    }
+  }
+
+  /** Converts the file given as first argument into the file given as second argument */
+  public static void main(String[] argv) {
+    if (argv.length != 2) {
+      System.err.println("Usage: PresentationConverter <source> <target>");
+      System.exit(2);
+    }
+    try {
+      convert(argv[0], argv[1]);
+    } catch (IOException iox) {
+      System.err.println("IO Error: " + iox.getMessage());
+      System.exit(1);
+    }
+  }
+}
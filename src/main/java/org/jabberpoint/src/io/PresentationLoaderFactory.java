@@ -12,6 +12,14 @@ public class PresentationLoaderFactory {
   public static PresentationLoader createLoader(String type) {
     if (type.equalsIgnoreCase("xml")) {
       return new XMLPresentationLoader();
+    } else if (type.equalsIgnoreCase("stax")) {
+      return new StaxPresentationLoader();
+    } else if (type.equalsIgnoreCase("progressive")) {
+      return new ProgressivePresentationLoader();
+    } else if (type.equalsIgnoreCase("binary")) {
+      return new BinaryPresentationLoader();
+    } else if (type.equalsIgnoreCase("mapped")) {
+      return new MappedPresentationLoader();
     } else if (type.equalsIgnoreCase("demo")) {
       return new DemoPresentationLoader();
     } else {
@@ -0,0 +1,164 @@
+package org.jabberpoint.src.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import javax.swing.SwingWorker;
+import org.jabberpoint.src.model.Presentation;
+import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.model.SlideStore;
+
+/**
+ * Strategy implementation that loads an XML presentation on a background thread.
+ *
+ * <p>{@link #loadPresentation} returns as soon as the first slide has been parsed and has replaced
+ * the previous slides, so the caller can show it right away. The remaining slides are appended on
+ * the event dispatch thread while they are parsed, and the observers of the presentation are told
+ * about the growing size. Errors found after the first slide are passed to the error handler.
+ */
+public class ProgressivePresentationLoader implements PresentationLoader {
+  private final StaxPresentationLoader parser = new StaxPresentationLoader();
+  private final Consumer<IOException> errorHandler;
+  private LoadWorker worker;
+
+  public ProgressivePresentationLoader() {
+    this(iox -> System.err.println(iox.toString()));
+  }
+
+  /**
+   * Constructor
+   *
+   * @param errorHandler Receives the errors found after the first slide, on the event dispatch
+   *     thread
+   */
+  public ProgressivePresentationLoader(Consumer<IOException> errorHandler) {
+    this.errorHandler = errorHandler;
+  }
+
+  /** Loads the first slide of an XML file and the rest of it in the background */
+  @Override
+  public void loadPresentation(Presentation presentation, String filename) throws IOException {
+    cancel();
+    worker = new LoadWorker(presentation, filename);
+    worker.execute();
+    worker.handOverFirstSlide();
+  }
+
+  /** Stops loading the rest of the presentation that is currently loaded in the background */
+  public void cancel() {
+    if (worker != null) {
+      worker.cancel(true);
+    }
+  }
+
+  /**
+   * Gives the completion of the current background load
+   *
+   * @return A future that completes on the event dispatch thread after the last slide is appended
+   */
+  public CompletableFuture<Void> whenLoaded() {
+    return worker == null ? CompletableFuture.completedFuture(null) : worker.loaded;
+  }
+
+  /** Parses the file and publishes all slides after the first one to the event dispatch thread */
+  private class LoadWorker extends SwingWorker<Void, Slide> {
+    private final Presentation presentation;
+    private volatile SlideStore store; // replaced when another presentation is loaded
+    private final String filename;
+    private final CompletableFuture<Slide> firstSlide = new CompletableFuture<>();
+    private final CountDownLatch firstSlideHandedOver = new CountDownLatch(1);
+    private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+    private volatile String title;
+    private int appended = 0; // slides appended so far, only used on the calling and EDT threads
+
+    LoadWorker(Presentation presentation, String filename) {
+      this.presentation = presentation;
+      this.filename = filename;
+    }
+
+    @Override
+    protected Void doInBackground() throws IOException, InterruptedException {
+      try {
+        parser.parse(filename, parsedTitle -> title = parsedTitle, this::accept);
+      } catch (IOException iox) {
+        if (firstSlide.completeExceptionally(iox)) {
+          return null; // reported by handOverFirstSlide
+        }
+        throw iox;
+      }
+      firstSlide.complete(null); // in case the presentation has no slides at all
+      return null;
+    }
+
+    private void accept(Slide slide) {
+      if (isCancelled()) {
+        throw new CancellationException();
+      }
+      if (firstSlide.complete(slide)) {
+        try {
+          firstSlideHandedOver.await();
+        } catch (InterruptedException ie) {
+          throw new CancellationException();
+        }
+      } else {
+        publish(slide);
+      }
+    }
+
+    // Waits for the first slide and shows it instead of the previous slides on the calling thread
+    void handOverFirstSlide() throws IOException {
+      try {
+        Slide slide = firstSlide.get();
+        presentation.setTitle(title);
+        presentation.setSlides(slide == null ? List.of() : List.of(slide));
+        store = presentation.getSlideStore();
+        appended = presentation.getSize();
+      } catch (ExecutionException ee) {
+        Throwable cause = ee.getCause();
+        throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+        cancel(true);
+        throw new InterruptedIOException("Loading " + filename + " was interrupted");
+      } finally {
+        firstSlideHandedOver.countDown();
+      }
+    }
+
+    @Override
+    protected void process(List<Slide> slides) {
+      // Stop when the presentation was cleared or another presentation was loaded meanwhile, also
+      // by another loader
+      if (isCancelled()
+          || presentation.getSlideStore() != store
+          || presentation.getSize() != appended) {
+        cancel(true);
+        return;
+      }
+      presentation.appendAll(slides);
+      appended += slides.size();
+    }
+
+    @Override
+    protected void done() {
+      try {
+        if (!isCancelled()) {
+          get();
+        }
+      } catch (ExecutionException ee) {
+        Throwable cause = ee.getCause();
+        errorHandler.accept(
+            cause instanceof IOException ? (IOException) cause : new IOException(cause));
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+      } finally {
+        loaded.complete(null);
+      }
+    }
+  }
+}
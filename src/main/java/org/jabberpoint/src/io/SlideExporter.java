@@ -0,0 +1,223 @@
+package org.jabberpoint.src.io;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import javax.imageio.ImageIO;
+import org.jabberpoint.src.model.BitmapItem;
+import org.jabberpoint.src.model.Presentation;
+import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.model.SlideItem;
+import org.jabberpoint.src.model.TextRenderContext;
+
+/**
+ * Renders every slide of a presentation to a PNG file, without a screen.
+ *
+ * <p>The slides are rendered in parallel on a fork/join pool with {@link Slide#draw} into images of
+ * a chosen width; the height follows from the proportions of a slide. The images of a slide are
+ * decoded before it is drawn, so the files never show placeholders. The files are called {@code
+ * slide-001.png} and so on.
+ */
+public class SlideExporter {
+  /** The default width of the exported images, the width of a slide */
+  public static final int DEFAULT_WIDTH = Slide.WIDTH;
+
+  private static final int MAX_ATTEMPTS = 3; // renders of a slide whose images keep being dropped
+
+  private final ForkJoinPool pool;
+  private final int width;
+
+  /** Exports at the size of a slide on the common pool */
+  public SlideExporter() {
+    this(ForkJoinPool.commonPool(), DEFAULT_WIDTH);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param pool The pool the slides are rendered on
+   * @param width The width of the exported images in pixels
+   */
+  public SlideExporter(ForkJoinPool pool, int width) {
+    if (width <= 0) {
+      throw new IllegalArgumentException("Width must be positive: " + width);
+    }
+    this.pool = pool;
+    this.width = width;
+  }
+
+  /**
+   * Exports all slides of a presentation
+   *
+   * @param presentation The presentation
+   * @param directory The directory the files are written to, created if needed
+   * @return The files and the time each slide took
+   * @throws IOException If a file cannot be written
+   */
+  public Report export(Presentation presentation, File directory) throws IOException {
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new IOException("Cannot create directory " + directory);
+    }
+    long start = System.nanoTime();
+    try {
+      List<SlideExport> exports =
+          SlideTasks.forEachSlide(
+              pool, presentation, (number, slide) -> export(number, slide, directory));
+      return new Report(exports, System.nanoTime() - start);
+    } catch (InterruptedException x) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Export interrupted", x);
+    } catch (UncheckedIOException x) {
+      throw x.getCause();
+    }
+  }
+
+  /**
+   * Renders a slide, waiting for its images to be decoded
+   *
+   * @param slide The slide
+   * @return An image of the width of the exporter with the slide on a white background
+   */
+  public BufferedImage render(Slide slide) {
+    int height = Math.max(1, Math.round((float) width * Slide.HEIGHT / Slide.WIDTH));
+    BufferedImage image;
+    int attempt = 0;
+    int revision;
+    do {
+      awaitImages(slide);
+      revision = slide.getRevision(); // changes when a tile is decoded after it was drawn missing
+      image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+      Graphics2D g = image.createGraphics();
+      try {
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, height);
+        TextRenderContext.applyTo(g);
+        slide.draw(g, new Rectangle(0, 0, width, height), null);
+      } finally {
+        g.dispose();
+      }
+    } while ((slide.isLoading() || slide.getRevision() != revision) && ++attempt < MAX_ATTEMPTS);
+    return image;
+  }
+
+  // render one slide to its file
+  private SlideExport export(int slideNumber, Slide slide, File directory) {
+    long start = System.nanoTime();
+    File file = new File(directory, String.format("slide-%03d.png", slideNumber + 1));
+    try {
+      ImageIO.write(render(slide == null ? new Slide() : slide), "png", file);
+    } catch (IOException x) {
+      throw new UncheckedIOException(x);
+    }
+    return new SlideExport(slideNumber, file, System.nanoTime() - start);
+  }
+
+  // wait until the images of a slide and the tiles requested by the last draw have been decoded
+  private static void awaitImages(Slide slide) {
+    for (SlideItem item : slide.getSlideItems()) {
+      if (item instanceof BitmapItem) {
+        ((BitmapItem) item).startLoading().join();
+        ((BitmapItem) item).whenTilesDecoded().join();
+      }
+    }
+  }
+
+  /** The exported files of a presentation */
+  public static final class Report {
+    private final List<SlideExport> slides;
+    private final long elapsedNanos;
+
+    Report(List<SlideExport> slides, long elapsedNanos) {
+      this.slides = Collections.unmodifiableList(slides);
+      this.elapsedNanos = elapsedNanos;
+    }
+
+    public List<SlideExport> getSlides() {
+      return slides;
+    }
+
+    /** Gives the time from the start of the export until all files were written */
+    public long getElapsedNanos() {
+      return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder text = new StringBuilder();
+      text.append(slides.size())
+          .append(" slides exported in ")
+          .append(elapsedNanos / 1_000_000)
+          .append(" ms")
+          .append(System.lineSeparator());
+      for (SlideExport slide : slides) {
+        text.append(slide).append(System.lineSeparator());
+      }
+      return text.toString();
+    }
+  }
+
+  /** The file of one slide and the time it took */
+  public static final class SlideExport {
+    private final int slideNumber;
+    private final File file;
+    private final long nanos;
+
+    SlideExport(int slideNumber, File file, long nanos) {
+      this.slideNumber = slideNumber;
+      this.file = file;
+      this.nanos = nanos;
+    }
+
+    public int getSlideNumber() {
+      return slideNumber;
+    }
+
+    public File getFile() {
+      return file;
+    }
+
+    /** Gives the time it took to render and write the slide */
+    public long getNanos() {
+      return nanos;
+    }
+
+    @Override
+    public String toString() {
+      return "Slide "
+          + (slideNumber + 1)
+          + ": "
+          + file.getName()
+          + " in "
+          + nanos / 1_000_000
+          + " ms";
+    }
+  }
+
+  /** Exports the file given as first argument into the directory given as second argument */
+  public static void main(String[] argv) {
+    if (argv.length < 2 || argv.length > 3) {
+      System.err.println("Usage: SlideExporter <presentation> <directory> [width]");
+      System.exit(2);
+    }
+    System.setProperty("java.awt.headless", "true");
+    try {
+      int width = argv.length == 3 ? Integer.parseInt(argv[2]) : DEFAULT_WIDTH;
+      Presentation presentation = SlideTasks.load(argv[0]);
+      SlideExporter exporter = new SlideExporter(ForkJoinPool.commonPool(), width);
+      System.out.print(exporter.export(presentation, new File(argv[1])));
+    } catch (NumberFormatException x) {
+      System.err.println("Not a width: " + argv[2]);
+      System.exit(2);
+    } catch (IOException iox) {
+      System.err.println("IO Error: " + iox.getMessage());
+      System.exit(1);
+    }
+  }
+}
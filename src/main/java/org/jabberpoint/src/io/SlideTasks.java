@@ -0,0 +1,83 @@
+package org.jabberpoint.src.io;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.jabberpoint.src.model.Presentation;
+import org.jabberpoint.src.model.Slide;
+
+/**
+ * The parts shared by the tools that handle every slide of a deck without a screen, such as {@link
+ * DeckAnalyzer} and {@link SlideExporter}.
+ *
+ * <p>Slides are read from the presentation by the worker that handles them, so a deck with a mapped
+ * slide store is never held in memory as a whole.
+ */
+final class SlideTasks {
+  /** The work done for one slide */
+  interface SlideTask<T> {
+    /**
+     * Handles one slide
+     *
+     * @param slideNumber The number of the slide, starting at 0
+     * @param slide The slide, null if it cannot be read
+     * @return The result for the slide
+     */
+    T apply(int slideNumber, Slide slide);
+  }
+
+  private SlideTasks() {}
+
+  /**
+   * Handles all slides of a presentation in parallel on a fork/join pool
+   *
+   * @param pool The pool the slides are handled on
+   * @param presentation The presentation
+   * @param task The work for one slide
+   * @return The results in the order of the slides
+   * @throws InterruptedException If the calling thread was interrupted while waiting
+   * @throws RuntimeException The exception a task failed with
+   */
+  static <T> List<T> forEachSlide(ForkJoinPool pool, Presentation presentation, SlideTask<T> task)
+      throws InterruptedException {
+    int size = presentation.getSize();
+    try {
+      return pool.submit(
+              () ->
+                  IntStream.range(0, size)
+                      .parallel()
+                      .mapToObj(number -> task.apply(number, presentation.getSlide(number)))
+                      .collect(Collectors.toList()))
+          .get();
+    } catch (ExecutionException x) {
+      Throwable cause = x.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  /**
+   * Loads a presentation for a command line tool: binary files as they are, XML files streamed
+   *
+   * @param filename The file
+   * @return The loaded presentation
+   * @throws IOException If the file cannot be read
+   */
+  static Presentation load(String filename) throws IOException {
+    Presentation presentation = new Presentation();
+    if (BinaryPresentationLoader.isBinaryFile(filename)) {
+      new BinaryPresentationLoader().loadPresentation(presentation, filename);
+    } else {
+      new StaxPresentationLoader().loadPresentation(presentation, filename);
+    }
+    return presentation;
+  }
+}
@@ -0,0 +1,121 @@
+package org.jabberpoint.src.io;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.jabberpoint.src.model.Presentation;
+import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.model.SlideItemFactory;
+
+/**
+ * Strategy implementation for loading presentations from XML files with a pull parser.
+ *
+ * <p>Unlike the DOM based {@link XMLPresentationLoader} no document tree is built: slides and slide
+ * items are created while the elements are read, so the heap needed for loading is proportional to
+ * the resulting model instead of to the size of the file. The file format is the same, so saving is
+ * inherited from the DOM loader.
+ */
+public class StaxPresentationLoader extends XMLPresentationLoader {
+  private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+  /** Loads a presentation from an XML file */
+  @Override
+  public void loadPresentation(Presentation presentation, String filename) throws IOException {
+    List<Slide> slides = new ArrayList<>();
+    parse(filename, presentation::setTitle, slides::add);
+    presentation.setSlides(slides); // all slides at once, with one notification
+  }
+
+  /**
+   * Parses an XML file and hands every slide over as soon as its closing tag has been read
+   *
+   * @param filename The file to parse
+   * @param titleHandler Receives the title of the presentation
+   * @param slideHandler Receives every completely parsed slide, in document order
+   * @throws IOException If the file cannot be read or is not well-formed
+   */
+  public void parse(String filename, Consumer<String> titleHandler, Consumer<Slide> slideHandler)
+      throws IOException {
+    try (InputStream in = new FileInputStream(filename)) {
+      XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(in);
+      try {
+        readDocument(reader, titleHandler, slideHandler);
+      } finally {
+        reader.close();
+      }
+    } catch (XMLStreamException xse) {
+      System.err.println(xse.getMessage());
+      throw new IOException("Parse error: " + xse.getMessage());
+    }
+  }
+
+  private void readDocument(
+      XMLStreamReader reader, Consumer<String> titleHandler, Consumer<Slide> slideHandler)
+      throws XMLStreamException {
+    Slide slide = null;
+    boolean showTitleSeen = false;
+    while (reader.hasNext()) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.END_ELEMENT
+          && SLIDE.equals(reader.getLocalName())
+          && slide != null) {
+        slideHandler.accept(slide);
+        slide = null;
+      }
+      if (event != XMLStreamConstants.START_ELEMENT) {
+        continue;
+      }
+      String name = reader.getLocalName();
+      if (SLIDE.equals(name)) {
+        slide = new Slide();
+      } else if (SHOWTITLE.equals(name) && !showTitleSeen) {
+        showTitleSeen = true;
+        titleHandler.accept(reader.getElementText());
+      } else if (SLIDETITLE.equals(name) && slide != null) {
+        slide.setTitle(reader.getElementText());
+      } else if (ITEM.equals(name) && slide != null) {
+        loadSlideItem(slide, reader);
+      }
+    }
+  }
+
+  /** Loads a slide item from the item element the reader is positioned on */
+  protected void loadSlideItem(Slide slide, XMLStreamReader reader) throws XMLStreamException {
+    int level = 1; // default
+    String leveltext = reader.getAttributeValue(null, LEVEL);
+    if (leveltext != null) {
+      try {
+        level = Integer.parseInt(leveltext);
+      } catch (NumberFormatException x) {
+        System.err.println("Number format exception for level: " + leveltext);
+      }
+    }
+    String type = reader.getAttributeValue(null, KIND);
+    String content = reader.getElementText();
+    if (TEXT.equals(type)) {
+      slide.append(SlideItemFactory.createSlideItem("text", level, content));
+    } else {
+      if (IMAGE.equals(type)) {
+        slide.append(SlideItemFactory.createSlideItem("image", level, content));
+      } else {
+        System.err.println("Unknown element type: " + type);
+      }
+    }
+  }
+
+  private static XMLInputFactory createInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+    // The DOCTYPE of saved presentations points at a local DTD that is not needed for loading
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+    return factory;
+  }
+}
@@ -4,6 +4,8 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Vector;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -70,11 +72,12 @@ public class XMLAccessor extends Accessor {
 
       NodeList slides = doc.getElementsByTagName(SLIDE);
       max = slides.getLength();
+      List<Slide> loaded = new ArrayList<>(max);
       for (slideNumber = 0; slideNumber < max; slideNumber++) {
         Element xmlSlide = (Element) slides.item(slideNumber);
         Slide slide = new Slide();
         slide.setTitle(getTitle(xmlSlide, SLIDETITLE));
-        presentation.append(slide);
+        loaded.add(slide);
 
         NodeList slideItems = xmlSlide.getElementsByTagName(ITEM);
         maxItems = slideItems.getLength();
@@ -83,6 +86,7 @@ public class XMLAccessor extends Accessor {
           loadSlideItem(slide, item);
         }
       }
+      presentation.setSlides(loaded); // all slides at once, with one notification
     } catch (IOException iox) {
       System.err.println(iox.toString());
       // Don't rethrow to maintain backward compatibility
@@ -1,19 +1,45 @@
 package org.jabberpoint.src.model;
 
+import java.awt.Color;
+import java.awt.Dimension;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
 import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.awt.image.ImageObserver;
-import java.io.File;
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.net.URL;
-import javax.imageio.ImageIO;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * De klasse voor een Bitmap item
  *
  * <p>Bitmap items have the responsibility to draw themselves.
  *
+ * <p>The image is taken from the shared {@link ImageCache} when the item is first drawn, so items
+ * showing the same file share one decoded image; if it is not cached it is decoded in the
+ * background. Until then a placeholder of the size of the image is drawn, and the observers that
+ * drew it are told to repaint when the image is ready.
+ *
+ * <p>The item does not keep its decoded image, or the copy scaled for the screen, alive itself:
+ * both are held by the image cache within its memory budget. When the cache has dropped them the
+ * image is decoded again the next time the item is drawn.
+ *
+ * <p>An image can be zoomed into and panned; then only the visible part is decoded, in tiles of a
+ * {@link TiledImage}, so images far larger than the heap can be explored.
+ *
+ * <p>Images larger than a slide are fitted to the slide. Images with far more pixels than can be
+ * shown are decoded subsampled, but laid out and drawn at the size of the source image.
+ *
  * @author Ian F. Darwin, ian@darwinsys.com, Gert Florijn, Sylvia Stuurman
  * @version 1.1 2002/12/17 Gert Florijn
  * @version 1.2 2003/11/19 Sylvia Stuurman
@@ -23,72 +49,303 @@ import javax.imageio.ImageIO;
  * @version 1.6 2014/05/16 Sylvia Stuurman
  */
 public class BitmapItem extends SlideItem {
-  private BufferedImage bufferedImage;
+  private volatile WeakReference<BufferedImage> bufferedImage; // the image cache holds the image
   private String imageName;
+  private URL imageSource; // where the image was found, null if it was not found
+  private boolean located = false;
+  private long resolveNanos = 0; // the time it took to find the image file
+  private Dimension imageSize; // read from the header of the image, null if unknown
+  private CompletableFuture<Boolean> loading; // completes with whether the image was decoded
+  private int reloads = 0; // the number of times the image was decoded again after eviction
+  private boolean loadFinished = false; // the waiting observers have been told
+  private volatile ScaledImage scaledImage; // copy for the display and scale last drawn at
+  private final Set<ImageObserver> waitingObservers = new LinkedHashSet<>();
+  private final AtomicInteger revision = new AtomicInteger();
+  private volatile float zoom = 1.0f; // 1 shows the whole image
+  private double centerX = 0.5; // centre of the shown part, as a fraction of the image width
+  private double centerY = 0.5;
+  private TiledImage tiledImage; // tiles for drawing zoomed in, created when first zoomed
+  private final ImageCache imageCache; // holds the decoded image and the copies made from it
+  private final float maxScale; // the scale the image is decoded for, 0 for the render scale
+
+  /** The largest zoom factor */
+  public static final float MAX_ZOOM = 64.0f;
 
   protected static final String FILE = "File ";
   protected static final String NOTFOUND = " not found";
+  private static final Color PLACEHOLDER = new Color(230, 230, 230);
 
   // level is equal to item-level; name is the name of the file with the Image
   public BitmapItem(int level, String name) {
+    this(level, name, ImageCache.getInstance(), 0);
+  }
+
+  private BitmapItem(int level, String name, ImageCache imageCache, float maxScale) {
     super(level);
     imageName = name;
+    this.imageCache = imageCache;
+    this.maxScale = maxScale;
+  }
 
-    // Try loading the image from different locations
-    tryLoadImage();
+  /**
+   * Gives a copy of the item, zoomed and panned the same, that keeps its images in another cache
+   *
+   * <p>This is for drawing a slide small, e.g. as a thumbnail, without decoding the image at full
+   * size and without pushing the images of the shown slides out of the shared cache.
+   *
+   * @param cache The cache for the decoded image, the scaled copies and the tiles of the copy
+   * @param scale The largest scale the copy will be drawn at
+   * @return The copy
+   */
+  public synchronized BitmapItem copyFor(ImageCache cache, float scale) {
+    BitmapItem copy = new BitmapItem(getLevel(), imageName, cache, scale);
+    copy.located = located;
+    copy.imageSource = imageSource;
+    copy.imageSize = imageSize;
+    copy.zoom = zoom;
+    copy.centerX = centerX;
+    copy.centerY = centerY;
+    return copy;
   }
 
-  private void tryLoadImage() {
+  // Find the image in the different locations, without reading it
+  private synchronized URL locateImage() {
+    if (located) {
+      return imageSource;
+    }
+    located = true;
     if (imageName == null) {
-      return;
+      return null;
     }
-
-    // First try: Direct file path (as before)
+    long start = System.nanoTime();
     try {
-      File file = new File(imageName);
-      if (file.exists()) {
-        bufferedImage = ImageIO.read(file);
-        return; // Success!
-      }
+      imageSource = ImagePathResolver.getInstance().resolve(imageName);
     } catch (IOException e) {
-      System.err.println(FILE + imageName + " could not be loaded: " + e.getMessage());
+      System.err.println(FILE + imageName + " could not be located: " + e.getMessage());
+      return null;
+    } finally {
+      resolveNanos = System.nanoTime() - start;
     }
+    if (imageSource == null) {
+      System.err.println(FILE + imageName + NOTFOUND + " in any location");
+    }
+    return imageSource;
+  }
 
-    // Second try: Check in the package directory
-    try {
-      File packageFile = new File("src/main/java/org/jabberpoint/" + imageName);
-      if (packageFile.exists()) {
-        bufferedImage = ImageIO.read(packageFile);
-        return; // Success!
-      }
-    } catch (IOException e) {
-      System.err.println("Package path: " + imageName + " could not be loaded: " + e.getMessage());
+  /**
+   * Gives where the image was found, looking it up if that has not been done yet
+   *
+   * @return The location of the image, or null if it was not found
+   */
+  public URL getImageLocation() {
+    return locateImage();
+  }
+
+  /**
+   * Gives the time it took to find the image file, 0 if it has not been looked up yet
+   *
+   * @return The time in nanoseconds
+   */
+  public synchronized long getResolveNanos() {
+    return resolveNanos;
+  }
+
+  /**
+   * Starts decoding the image in the background, unless that has already been done
+   *
+   * <p>An image that was decoded but has since been dropped by the image cache is decoded again.
+   *
+   * @return A future that completes with the image, or with null if it cannot be loaded
+   */
+  public synchronized CompletableFuture<BufferedImage> startLoading() {
+    if (loading == null && getDecodedImage() != null) {
+      loading = CompletableFuture.completedFuture(true);
+    } else if (loading != null && isEvicted()) {
+      loading = null;
+      loadFinished = false;
+      reloads++;
     }
+    if (loading == null) {
+      loading = load();
+    }
+    return loading.thenApply(decoded -> getDecodedImage());
+  }
 
-    // Third try: As a resource from classpath
-    try {
-      URL url = getClass().getResource("/" + imageName);
-      if (url != null) {
-        bufferedImage = ImageIO.read(url);
-        return; // Success!
-      }
-    } catch (IOException e) {
-      System.err.println("Resource: " + imageName + " could not be loaded: " + e.getMessage());
+  /** Gives the number of times the image was decoded again after the image cache dropped it */
+  public synchronized int getReloadCount() {
+    return reloads;
+  }
+
+  // the decoded image if the image cache still holds it
+  private BufferedImage getDecodedImage() {
+    WeakReference<BufferedImage> reference = bufferedImage;
+    return reference == null ? null : reference.get();
+  }
+
+  // the image was decoded, but nothing holds it anymore
+  private boolean isEvicted() {
+    return loading.isDone() && loading.join() && getDecodedImage() == null;
+  }
+
+  // start decoding through the image cache
+  private CompletableFuture<Boolean> load() {
+    URL source = locateImage();
+    if (source == null) {
+      return CompletableFuture.completedFuture(false);
     }
+    return imageCache
+        .load(source, maxScale > 0 ? maxScale : ImageDecoder.getMaxRenderScale())
+        .handle(
+            (image, error) -> {
+              if (error != null) {
+                System.err.println(
+                    FILE + imageName + " could not be loaded: " + error.getMessage());
+              } else {
+                bufferedImage = new WeakReference<>(image);
+              }
+              revision.incrementAndGet();
+              notifyWaitingObservers(image);
+              return image != null;
+            });
+  }
 
-    // Final attempt: Check in the parent directory structures
-    try {
-      File parentFile = new File("../" + imageName);
-      if (parentFile.exists()) {
-        bufferedImage = ImageIO.read(parentFile);
-        return; // Success!
-      }
-    } catch (IOException e) {
-      System.err.println("Parent path: " + imageName + " could not be loaded: " + e.getMessage());
+  // The image or its visible tiles are still being decoded; starts decoding if needed
+  @Override
+  public boolean isLoading() {
+    if (zoom > 1.0f) {
+      TiledImage tiles = getTiledImage();
+      return tiles != null && tiles.isLoading();
+    }
+    return !startLoading().isDone();
+  }
+
+  /**
+   * Gives a future for the tiles of the zoomed image that are being decoded now
+   *
+   * @return A future that completes when those tiles are decoded, at once when not zoomed in
+   */
+  public CompletableFuture<Void> whenTilesDecoded() {
+    TiledImage tiles = zoom > 1.0f ? getTiledImage() : null;
+    return tiles == null ? CompletableFuture.completedFuture(null) : tiles.whenTilesDecoded();
+  }
+
+  // Changes whenever the image looks different: decoded, zoomed, panned or new tiles decoded
+  @Override
+  public int getRevision() {
+    return revision.get();
+  }
+
+  public float getZoom() {
+    return zoom;
+  }
+
+  /**
+   * Zooms into the image, keeping the centre of the shown part where possible
+   *
+   * @param zoom The zoom factor, 1 to show the whole image, up to MAX_ZOOM
+   */
+  public synchronized void setZoom(float zoom) {
+    this.zoom = Math.max(1.0f, Math.min(MAX_ZOOM, zoom));
+    clampCenter();
+    if (this.zoom == 1.0f && tiledImage != null) {
+      tiledImage.dispose(); // the whole image is drawn from the image cache again
+      tiledImage = null;
+    }
+    revision.incrementAndGet();
+  }
+
+  /**
+   * Moves the shown part of a zoomed image
+   *
+   * @param dx The horizontal distance, as a fraction of the width of the shown part
+   * @param dy The vertical distance, as a fraction of the height of the shown part
+   */
+  public synchronized void pan(double dx, double dy) {
+    centerX += dx / zoom;
+    centerY += dy / zoom;
+    clampCenter();
+    revision.incrementAndGet();
+  }
+
+  /**
+   * Gives the part of the image that is shown
+   *
+   * @return The shown part in source pixels, or null if the image size is unknown
+   */
+  public synchronized Rectangle2D getViewport() {
+    getImageSize(null);
+    if (imageSize == null || imageSize.width <= 0 || imageSize.height <= 0) {
+      return null;
     }
+    double width = imageSize.width / zoom;
+    double height = imageSize.height / zoom;
+    return new Rectangle2D.Double(
+        centerX * imageSize.width - width / 2,
+        centerY * imageSize.height - height / 2,
+        width,
+        height);
+  }
+
+  // keep the shown part within the image
+  private void clampCenter() {
+    double half = 0.5 / zoom;
+    centerX = Math.max(half, Math.min(1 - half, centerX));
+    centerY = Math.max(half, Math.min(1 - half, centerY));
+  }
 
-    // If we get here, all attempts failed
-    System.err.println(FILE + imageName + NOTFOUND + " in any location");
+  // give the tiles of the image, null if it cannot be read
+  private synchronized TiledImage getTiledImage() {
+    if (tiledImage == null && getViewport() != null) {
+      tiledImage =
+          new TiledImage(
+              imageSource,
+              imageSize,
+              TiledImage.DEFAULT_MAX_TILES,
+              revision::incrementAndGet,
+              imageCache);
+    }
+    return tiledImage;
+  }
+
+  // Tell the observers that drew the placeholder that they can draw the image now
+  private void notifyWaitingObservers(BufferedImage image) {
+    List<ImageObserver> observers;
+    synchronized (this) {
+      loadFinished = true;
+      observers = new ArrayList<>(waitingObservers);
+      waitingObservers.clear();
+    }
+    int flags = image == null ? ImageObserver.ALLBITS | ImageObserver.ERROR : ImageObserver.ALLBITS;
+    for (ImageObserver observer : observers) {
+      observer.imageUpdate(
+          image,
+          flags,
+          0,
+          0,
+          image == null ? 0 : image.getWidth(),
+          image == null ? 0 : image.getHeight());
+    }
+  }
+
+  // give the size the image is shown at: the size of the source image, fitted to the slide
+  private Dimension getImageSize(ImageObserver observer) {
+    Dimension source;
+    synchronized (this) {
+      if (imageSize == null && locateImage() != null) {
+        try {
+          imageSize = ImageDecoder.readSize(imageSource);
+        } catch (IOException e) {
+          System.err.println(FILE + imageName + " could not be read: " + e.getMessage());
+          imageSize = new Dimension(0, 0);
+        }
+      }
+      source = imageSize;
+    }
+    BufferedImage image = getDecodedImage();
+    if ((source == null || source.width <= 0) && image != null) {
+      source = new Dimension(image.getWidth(observer), image.getHeight(observer));
+    }
+    return source == null ? null : ImageDecoder.fitToSlide(source.width, source.height);
   }
 
   // An empty bitmap-item
@@ -112,36 +369,150 @@ public class BitmapItem extends SlideItem {
 
   // give the  bounding box of the image
   public Rectangle getBoundingBox(Graphics g, ImageObserver observer, float scale, Style myStyle) {
+    Dimension size = getImageSize(observer);
+    if (size == null) {
+      size = new Dimension(0, 0); // image not found
+    }
     return new Rectangle(
         (int) (myStyle.indent * scale),
         0,
-        (int) (bufferedImage.getWidth(observer) * scale),
-        ((int) (myStyle.leading * scale)) + (int) (bufferedImage.getHeight(observer) * scale));
+        (int) (size.width * scale),
+        ((int) (myStyle.leading * scale)) + (int) (size.height * scale));
   }
 
   // draw the image
   public void draw(int x, int y, float scale, Graphics g, Style myStyle, ImageObserver observer) {
-    // Skip drawing if the bufferedImage is null (image not found)
-    if (bufferedImage == null) {
-      // Draw a placeholder or error message instead
-      int width = x + (int) (myStyle.indent * scale);
-      int height = y + (int) (myStyle.leading * scale);
-      g.drawString("Image not found: " + imageName, width, height);
-      return;
-    }
-
     int width = x + (int) (myStyle.indent * scale);
     int height = y + (int) (myStyle.leading * scale);
-    g.drawImage(
-        bufferedImage,
-        width,
-        height,
-        (int) (bufferedImage.getWidth(observer) * scale),
-        (int) (bufferedImage.getHeight(observer) * scale),
-        observer);
+
+    // Zoomed in, only the visible tiles are decoded
+    if (zoom > 1.0f) {
+      TiledImage tiles = getTiledImage();
+      Rectangle2D viewport = getViewport();
+      if (tiles != null && viewport != null) {
+        Dimension size = getImageSize(observer);
+        tiles.draw(
+            g,
+            new Rectangle(width, height, (int) (size.width * scale), (int) (size.height * scale)),
+            viewport,
+            observer);
+        return;
+      }
+    }
+
+    startLoading();
+    BufferedImage image = getDecodedImage();
+
+    if (image == null) {
+      boolean waiting;
+      synchronized (this) {
+        CompletableFuture<BufferedImage> load = startLoading(); // again if dropped meanwhile
+        image = getDecodedImage();
+        waiting = image == null && !loadFinished && !load.isDone();
+        if (waiting && observer != null) {
+          waitingObservers.add(observer);
+        }
+      }
+
+      // Draw a placeholder while the image is decoded, and repaint when it is ready
+      if (waiting) {
+        Dimension size = getImageSize(observer);
+        if (size != null) {
+          Color color = g.getColor();
+          g.setColor(PLACEHOLDER);
+          g.fillRect(width, height, (int) (size.width * scale), (int) (size.height * scale));
+          g.setColor(color);
+        }
+        return;
+      }
+
+      // Skip drawing if the image could not be loaded (image not found)
+      if (image == null) {
+        // Draw an error message instead
+        g.drawString("Image not found: " + imageName, width, height);
+        return;
+      }
+    }
+
+    // The decoded image may be subsampled, so it is drawn at the size of the source image
+    Dimension size = getImageSize(observer);
+    int drawWidth = (int) (size.width * scale);
+    int drawHeight = (int) (size.height * scale);
+    if (g instanceof Graphics2D) {
+      BufferedImage scaled = getScaledImage(image, drawWidth, drawHeight, (Graphics2D) g);
+      if (scaled != null) {
+        g.drawImage(scaled, width, height, drawWidth, drawHeight, observer);
+        return;
+      }
+    }
+    g.drawImage(image, width, height, drawWidth, drawHeight, observer);
+  }
+
+  // give a copy of the image that can be drawn on g without scaling, made again when the scale
+  // or the display changes
+  private BufferedImage getScaledImage(
+      BufferedImage image, int drawWidth, int drawHeight, Graphics2D g) {
+    AffineTransform transform = g.getTransform();
+    if ((transform.getType()
+                & ~(AffineTransform.TYPE_TRANSLATION | AffineTransform.TYPE_MASK_SCALE))
+            != 0
+        || drawWidth <= 0
+        || drawHeight <= 0) {
+      return null; // rotated or flipped, or nothing to draw
+    }
+    int pixelWidth = (int) Math.round(drawWidth * transform.getScaleX());
+    int pixelHeight = (int) Math.round(drawHeight * transform.getScaleY());
+    GraphicsConfiguration configuration = g.getDeviceConfiguration();
+    ScaledImage scaled = scaledImage;
+    BufferedImage copy = null;
+    if (imageSource != null
+        && scaled != null
+        && scaled.isFor(image, pixelWidth, pixelHeight, configuration)) {
+      copy = imageCache.getDerived(imageSource, scaled.variant);
+    }
+    if (copy == null) {
+      copy = ImageScaler.scale(image, pixelWidth, pixelHeight, configuration);
+      if (scaled == null || !scaled.isFor(image, pixelWidth, pixelHeight, configuration)) {
+        if (scaled != null && imageSource != null) {
+          imageCache.removeDerived(imageSource, scaled.variant); // only one copy per item
+        }
+        scaled = new ScaledImage(image, pixelWidth, pixelHeight, configuration);
+        scaledImage = scaled;
+      }
+      if (imageSource != null) {
+        imageCache.putDerived(imageSource, scaled.variant, copy);
+      }
+    }
+    return copy;
   }
 
   public String toString() {
     return "BitmapItem[" + getLevel() + "," + imageName + "]";
   }
+
+  /** The display and size a copy of a decoded image was made for; the image cache holds the copy */
+  private static final class ScaledImage {
+    private final WeakReference<BufferedImage> source;
+    private final int width;
+    private final int height;
+    private final GraphicsConfiguration configuration;
+    private final String variant;
+
+    ScaledImage(BufferedImage source, int width, int height, GraphicsConfiguration configuration) {
+      this.source = new WeakReference<>(source);
+      this.width = width;
+      this.height = height;
+      this.configuration = configuration;
+      this.variant =
+          "scaled:" + width + "x" + height + "@" + System.identityHashCode(configuration);
+    }
+
+    boolean isFor(
+        BufferedImage source, int width, int height, GraphicsConfiguration configuration) {
+      return this.source.get() == source
+          && this.width == width
+          && this.height == height
+          && this.configuration.equals(configuration);
+    }
+  }
 }
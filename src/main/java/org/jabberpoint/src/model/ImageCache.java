@@ -0,0 +1,268 @@
+package org.jabberpoint.src.model;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.File;
+import java.lang.ref.SoftReference;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Process-wide cache of decoded images, shared by all bitmap items.
+ *
+ * <p>Images are keyed by their resolved location, the scale they are decoded for (see {@link
+ * ImageDecoder}) and, for files, their modification time, so an image that is used on many slides
+ * is decoded once and a file that changed on disk is decoded again. Recently used images are kept
+ * within a budget of bytes; images pushed out of the budget are only softly referenced and can
+ * still be reused until the garbage collector needs the memory. Requests for an image that is being
+ * decoded share that decoding.
+ *
+ * <p>Bitmap items do not hold their images themselves, so the budget bounds all image memory that
+ * is strongly held: decoded images as well as copies derived from them, such as copies scaled for
+ * the screen, and the tiles of zoomed images (see {@link TiledImage}). Dropped images are decoded
+ * again when they are needed. The budget of the shared cache can be set in megabytes with the
+ * system property {@value #BUDGET_PROPERTY}.
+ */
+public class ImageCache {
+  /** The default budget of the shared cache */
+  public static final long DEFAULT_BUDGET = 256L * 1024 * 1024;
+
+  /** The system property with the budget of the shared cache in megabytes */
+  public static final String BUDGET_PROPERTY = "jabberpoint.imageBudgetMb";
+
+  private static final ImageCache INSTANCE = new ImageCache(defaultBudget());
+
+  private final Map<String, BufferedImage> images = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<String, SoftReference<BufferedImage>> evicted = new HashMap<>();
+  private final Map<String, CompletableFuture<BufferedImage>> pending = new HashMap<>();
+  private long budget;
+  private long usedBytes = 0;
+  private long peakBytes = 0;
+  private long hits = 0;
+  private long misses = 0;
+
+  /**
+   * Constructor
+   *
+   * @param budget The maximum number of bytes of the strongly held images together
+   */
+  public ImageCache(long budget) {
+    setBudget(budget);
+  }
+
+  /** Gives the cache shared by all bitmap items */
+  public static ImageCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Gives an image, decoding it in the background if it is not cached
+   *
+   * @param source The resolved location of the image
+   * @return A future that completes with the image, or exceptionally if it cannot be decoded
+   */
+  public CompletableFuture<BufferedImage> load(URL source) {
+    return load(source, ImageDecoder.getMaxRenderScale());
+  }
+
+  /**
+   * Gives an image decoded for a maximum scale, decoding it in the background if it is not cached
+   *
+   * @param source The resolved location of the image
+   * @param maxScale The largest scale the slide with the image will be drawn at
+   * @return A future that completes with the image, or exceptionally if it cannot be decoded
+   */
+  public synchronized CompletableFuture<BufferedImage> load(URL source, float maxScale) {
+    String key = keyOf(source, maxScale);
+    BufferedImage image = lookUp(key);
+    if (image != null) {
+      hits++;
+      return CompletableFuture.completedFuture(image);
+    }
+    CompletableFuture<BufferedImage> decoding = pending.get(key);
+    if (decoding != null) {
+      hits++;
+      return decoding;
+    }
+    misses++;
+    decoding = ImageDecoder.decode(source, maxScale);
+    pending.put(key, decoding);
+    return decoding.whenComplete((decoded, error) -> decoded(key, decoded));
+  }
+
+  /**
+   * Gives an image if it is cached, without decoding it
+   *
+   * @param source The resolved location of the image
+   * @return The image, or null if it is not cached
+   */
+  public synchronized BufferedImage getIfPresent(URL source) {
+    return lookUp(keyOf(source, ImageDecoder.getMaxRenderScale()));
+  }
+
+  /**
+   * Gives a copy derived from an image, e.g. scaled for the screen, if it is cached
+   *
+   * @param source The resolved location of the image the copy was made from
+   * @param variant What kind of copy it is, e.g. its size
+   * @return The copy, or null if it is not cached
+   */
+  public synchronized BufferedImage getDerived(URL source, String variant) {
+    return lookUp(derivedKeyOf(source, variant));
+  }
+
+  /**
+   * Adds a copy derived from an image, counting it against the budget
+   *
+   * @param source The resolved location of the image the copy was made from
+   * @param variant What kind of copy it is, e.g. its size
+   * @param image The copy
+   */
+  public synchronized void putDerived(URL source, String variant, BufferedImage image) {
+    put(derivedKeyOf(source, variant), image);
+  }
+
+  /**
+   * Drops a copy derived from an image, giving its bytes back to the budget
+   *
+   * @param source The resolved location of the image the copy was made from
+   * @param variant What kind of copy it is, e.g. its size
+   */
+  public synchronized void removeDerived(URL source, String variant) {
+    String key = derivedKeyOf(source, variant);
+    BufferedImage image = images.remove(key);
+    if (image != null) {
+      usedBytes -= sizeOf(image);
+    }
+    evicted.remove(key);
+  }
+
+  /** Drops all images */
+  public synchronized void clear() {
+    images.clear();
+    evicted.clear();
+    usedBytes = 0;
+  }
+
+  public synchronized long getBudget() {
+    return budget;
+  }
+
+  /**
+   * Changes the budget, pushing images out if the cache is now too large
+   *
+   * @param budget The maximum number of bytes of the strongly held images together
+   */
+  public synchronized void setBudget(long budget) {
+    if (budget < 0) {
+      throw new IllegalArgumentException("Budget cannot be negative: " + budget);
+    }
+    this.budget = budget;
+    evict();
+  }
+
+  public synchronized long getUsedBytes() {
+    return usedBytes;
+  }
+
+  /** Gives the largest number of bytes the strongly held images have taken together */
+  public synchronized long getPeakBytes() {
+    return peakBytes;
+  }
+
+  public synchronized int getImageCount() {
+    return images.size();
+  }
+
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Gives the number of bytes of the pixels of an image
+   *
+   * @param image The image
+   * @return The size of the data buffer of its raster
+   */
+  public static long sizeOf(BufferedImage image) {
+    DataBuffer buffer = image.getRaster().getDataBuffer();
+    return (long) buffer.getSize()
+        * buffer.getNumBanks()
+        * DataBuffer.getDataTypeSize(buffer.getDataType())
+        / 8;
+  }
+
+  private synchronized void decoded(String key, BufferedImage image) {
+    pending.remove(key);
+    if (image != null) {
+      put(key, image);
+    }
+  }
+
+  // find an image among the held and the softly held images, holding it again if needed
+  private BufferedImage lookUp(String key) {
+    BufferedImage image = images.get(key);
+    if (image != null) {
+      return image;
+    }
+    SoftReference<BufferedImage> reference = evicted.remove(key);
+    image = reference == null ? null : reference.get();
+    if (image != null) {
+      put(key, image);
+    }
+    return image;
+  }
+
+  private void put(String key, BufferedImage image) {
+    BufferedImage previous = images.put(key, image);
+    if (previous != null) {
+      usedBytes -= sizeOf(previous);
+    }
+    usedBytes += sizeOf(image);
+    evict();
+    peakBytes = Math.max(peakBytes, usedBytes);
+  }
+
+  private void evict() {
+    Iterator<Map.Entry<String, BufferedImage>> leastRecentlyUsed = images.entrySet().iterator();
+    while (usedBytes > budget && leastRecentlyUsed.hasNext()) {
+      Map.Entry<String, BufferedImage> entry = leastRecentlyUsed.next();
+      usedBytes -= sizeOf(entry.getValue());
+      evicted.put(entry.getKey(), new SoftReference<>(entry.getValue()));
+      leastRecentlyUsed.remove();
+    }
+    evicted.values().removeIf(reference -> reference.get() == null);
+  }
+
+  private static String derivedKeyOf(URL source, String variant) {
+    return source.toExternalForm() + "|" + variant;
+  }
+
+  // the budget from the system property, or the default one
+  private static long defaultBudget() {
+    Long megabytes = Long.getLong(BUDGET_PROPERTY);
+    return megabytes == null || megabytes < 0 ? DEFAULT_BUDGET : megabytes * 1024 * 1024;
+  }
+
+  // the location plus, for files, the modification time, and the scale the image is decoded for
+  private static String keyOf(URL source, float maxScale) {
+    String key = source.toExternalForm() + "#" + maxScale;
+    if ("file".equals(source.getProtocol())) {
+      try {
+        return key + "@" + new File(source.toURI()).lastModified();
+      } catch (URISyntaxException | IllegalArgumentException x) {
+        // not a plain file location
+      }
+    }
+    return key;
+  }
+}
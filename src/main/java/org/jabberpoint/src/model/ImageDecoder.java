@@ -0,0 +1,266 @@
+package org.jabberpoint.src.model;
+
+import java.awt.Dimension;
+import java.awt.DisplayMode;
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * Decodes the images of bitmap items on a small pool of background threads.
+ *
+ * <p>The number of decoding threads is bounded by the number of processors (at most four), so
+ * decoding a deck full of photos does not flood the machine. The threads are daemons and stop when
+ * they have been idle for a while.
+ *
+ * <p>Images are shown at most at the size of a slide, and slides are drawn at most at the maximum
+ * render scale, which defaults to the size of the largest screen. Images that are at least twice as
+ * wide and high as needed for that are decoded with source subsampling, so a photo of 40 megapixels
+ * takes a few megabytes of heap instead of 160.
+ */
+public class ImageDecoder {
+  private static final int THREADS =
+      Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+  private static final ExecutorService EXECUTOR = createExecutor();
+  private static volatile float maxRenderScale = defaultMaxRenderScale();
+
+  private ImageDecoder() {}
+
+  /**
+   * Decodes an image in the background, subsampled for the current maximum render scale
+   *
+   * @param source The location of the image
+   * @return A future that completes with the image, or exceptionally if it cannot be decoded
+   */
+  public static CompletableFuture<BufferedImage> decode(URL source) {
+    return decode(source, maxRenderScale);
+  }
+
+  /**
+   * Decodes an image in the background
+   *
+   * @param source The location of the image
+   * @param maxScale The largest scale the slide with the image will be drawn at
+   * @return A future that completes with the image, or exceptionally if it cannot be decoded
+   */
+  public static CompletableFuture<BufferedImage> decode(URL source, float maxScale) {
+    return submit(() -> read(source, maxScale));
+  }
+
+  /**
+   * Runs another decoding task, e.g. for a part of an image, on the decoding threads
+   *
+   * @param task The task
+   * @return A future that completes with the result of the task
+   */
+  public static <T> CompletableFuture<T> submit(Callable<T> task) {
+    return CompletableFuture.supplyAsync(
+        () -> {
+          try {
+            return task.call();
+          } catch (IOException iox) {
+            throw new UncheckedIOException(iox);
+          } catch (RuntimeException x) {
+            throw x;
+          } catch (Exception x) {
+            throw new IllegalStateException(x);
+          }
+        },
+        EXECUTOR);
+  }
+
+  /**
+   * Decodes an image on the calling thread at full resolution
+   *
+   * @param source The location of the image
+   * @return The image
+   * @throws IOException If the image cannot be read or its format is not supported
+   */
+  public static BufferedImage read(URL source) throws IOException {
+    BufferedImage image = ImageIO.read(source);
+    if (image == null) {
+      throw new IOException("Unsupported image format: " + source);
+    }
+    return image;
+  }
+
+  /**
+   * Decodes an image on the calling thread, skipping pixels that can never be shown
+   *
+   * @param source The location of the image
+   * @param maxScale The largest scale the slide with the image will be drawn at
+   * @return The image, possibly smaller than the source image
+   * @throws IOException If the image cannot be read or its format is not supported
+   */
+  public static BufferedImage read(URL source, float maxScale) throws IOException {
+    try (InputStream in = source.openStream();
+        ImageInputStream imageIn = ImageIO.createImageInputStream(in)) {
+      ImageReader reader = createReader(imageIn, source);
+      try {
+        int factor = getSubsampling(reader.getWidth(0), reader.getHeight(0), maxScale);
+        ImageReadParam param = reader.getDefaultReadParam();
+        if (factor > 1) {
+          param.setSourceSubsampling(factor, factor, 0, 0);
+        }
+        return reader.read(0, param);
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  /**
+   * Gives the subsampling for an image, the number of source pixels per decoded pixel
+   *
+   * @param width The width of the source image
+   * @param height The height of the source image
+   * @param maxScale The largest scale the slide with the image will be drawn at
+   * @return 1 to decode all pixels, or the step between the decoded rows and columns
+   */
+  public static int getSubsampling(int width, int height, float maxScale) {
+    Dimension shown = fitToSlide(width, height);
+    int maxWidth = Math.max(1, (int) Math.ceil(shown.width * maxScale));
+    int maxHeight = Math.max(1, (int) Math.ceil(shown.height * maxScale));
+    return Math.max(1, Math.min(width / maxWidth, height / maxHeight));
+  }
+
+  /**
+   * Gives the size an image is shown at on a slide of scale 1
+   *
+   * @param width The width of the source image
+   * @param height The height of the source image
+   * @return The size of the image, scaled down to fit the slide if it is larger
+   */
+  public static Dimension fitToSlide(int width, int height) {
+    float fit =
+        Math.min(1.0f, Math.min((float) Slide.WIDTH / width, (float) Slide.HEIGHT / height));
+    if (width <= 0 || height <= 0 || fit >= 1.0f) {
+      return new Dimension(width, height);
+    }
+    return new Dimension(Math.max(1, (int) (width * fit)), Math.max(1, (int) (height * fit)));
+  }
+
+  public static float getMaxRenderScale() {
+    return maxRenderScale;
+  }
+
+  /**
+   * Changes the largest scale slides are drawn at, for images decoded from now on
+   *
+   * @param scale The scale, e.g. 2 for a screen twice as large as a slide
+   */
+  public static void setMaxRenderScale(float scale) {
+    if (!(scale > 0)) {
+      throw new IllegalArgumentException("Scale must be positive: " + scale);
+    }
+    maxRenderScale = scale;
+  }
+
+  /**
+   * Reads the width and height of an image from its header, without decoding the pixels
+   *
+   * @param source The location of the image
+   * @return The size of the image
+   * @throws IOException If the image cannot be read or its format is not supported
+   */
+  public static Dimension readSize(URL source) throws IOException {
+    try (InputStream in = source.openStream();
+        ImageInputStream imageIn = ImageIO.createImageInputStream(in)) {
+      ImageReader reader = createReader(imageIn, source);
+      try {
+        return new Dimension(reader.getWidth(0), reader.getHeight(0));
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  /**
+   * Starts decoding all images of a presentation in parallel
+   *
+   * @param presentation The presentation whose images are decoded
+   * @return A future that completes when every image has been decoded or has failed
+   */
+  public static CompletableFuture<Void> preloadAll(Presentation presentation) {
+    List<CompletableFuture<BufferedImage>> loads = new ArrayList<>();
+    for (int slideNumber = 0; slideNumber < presentation.getSize(); slideNumber++) {
+      Slide slide = presentation.getSlide(slideNumber);
+      if (slide == null) {
+        continue;
+      }
+      for (SlideItem item : slide.getSlideItems()) {
+        if (item instanceof BitmapItem) {
+          loads.add(((BitmapItem) item).startLoading());
+        }
+      }
+    }
+    return CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0]));
+  }
+
+  private static ImageReader createReader(ImageInputStream imageIn, URL source) throws IOException {
+    if (imageIn == null) {
+      throw new IOException("Cannot read " + source);
+    }
+    Iterator<ImageReader> readers = ImageIO.getImageReaders(imageIn);
+    if (!readers.hasNext()) {
+      throw new IOException("Unsupported image format: " + source);
+    }
+    ImageReader reader = readers.next();
+    reader.setInput(imageIn, true, true);
+    return reader;
+  }
+
+  // the scale a slide is drawn at on the largest screen, 2 when there is no screen
+  private static float defaultMaxRenderScale() {
+    if (GraphicsEnvironment.isHeadless()) {
+      return 2.0f;
+    }
+    float scale = 1.0f;
+    for (GraphicsDevice device :
+        GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices()) {
+      DisplayMode mode = device.getDisplayMode();
+      scale =
+          Math.max(
+              scale,
+              Math.min(
+                  (float) mode.getWidth() / Slide.WIDTH, (float) mode.getHeight() / Slide.HEIGHT));
+    }
+    return scale;
+  }
+
+  private static ExecutorService createExecutor() {
+    AtomicInteger threadNumber = new AtomicInteger();
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            THREADS,
+            THREADS,
+            30,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            task -> {
+              Thread thread = new Thread(task, "image-decoder-" + threadNumber.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+}
@@ -0,0 +1,145 @@
+package org.jabberpoint.src.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the files of bitmap items along an ordered search path.
+ *
+ * <p>Every entry of the search path is a directory, relative to the working directory or absolute,
+ * or {@link #CLASSPATH} to look among the resources of the application. Absolute image names are
+ * only looked up as they are. Every name is looked up once: found locations and names that were not
+ * found anywhere are both cached, so an image used on many slides, or missing from many slides,
+ * costs its file system probes only once. Call {@link #clear} after files have been added or moved.
+ *
+ * <p>The search path can be set with the system property {@value #SEARCH_PATH_PROPERTY}, entries
+ * separated by the platform path separator.
+ */
+public class ImagePathResolver {
+  /** The search path entry for the resources on the classpath */
+  public static final String CLASSPATH = "@classpath";
+
+  /** The system property with the search path */
+  public static final String SEARCH_PATH_PROPERTY = "jabberpoint.imagePath";
+
+  /** The locations JabberPoint has always looked in, in that order */
+  public static final List<String> DEFAULT_SEARCH_PATH =
+      List.of(".", "src/main/java/org/jabberpoint", CLASSPATH, "..");
+
+  private static final ImagePathResolver INSTANCE = new ImagePathResolver(defaultSearchPath());
+
+  private final Map<String, URL> resolved = new HashMap<>(); // a null location for a miss
+  private List<String> searchPath;
+  private long hits = 0;
+  private long misses = 0;
+  private long probes = 0;
+
+  /**
+   * Constructor
+   *
+   * @param searchPath The directories to look in, in order, possibly including {@link #CLASSPATH}
+   */
+  public ImagePathResolver(List<String> searchPath) {
+    setSearchPath(searchPath);
+  }
+
+  /** Gives the resolver shared by all bitmap items */
+  public static ImagePathResolver getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Finds an image
+   *
+   * @param imageName The name of the image as written in the presentation
+   * @return The location of the image, or null if it is not found in any location
+   * @throws IOException If a found file cannot be turned into a location
+   */
+  public synchronized URL resolve(String imageName) throws IOException {
+    if (resolved.containsKey(imageName)) {
+      hits++;
+      return resolved.get(imageName);
+    }
+    misses++;
+    URL location = lookUp(imageName);
+    resolved.put(imageName, location);
+    return location;
+  }
+
+  public synchronized List<String> getSearchPath() {
+    return searchPath;
+  }
+
+  /**
+   * Changes the search path, forgetting all names looked up so far
+   *
+   * @param searchPath The directories to look in, in order, possibly including {@link #CLASSPATH}
+   */
+  public synchronized void setSearchPath(List<String> searchPath) {
+    this.searchPath = List.copyOf(searchPath);
+    resolved.clear();
+  }
+
+  /** Forgets all names looked up so far, e.g. after image files were added */
+  public synchronized void clear() {
+    resolved.clear();
+  }
+
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  /** Gives the number of file system and classpath lookups done so far */
+  public synchronized long getProbes() {
+    return probes;
+  }
+
+  // probe the search path in order
+  private URL lookUp(String imageName) throws MalformedURLException {
+    File file = new File(imageName);
+    if (file.isAbsolute()) {
+      probes++;
+      return file.exists() ? file.toURI().toURL() : null;
+    }
+    for (String entry : searchPath) {
+      probes++;
+      if (CLASSPATH.equals(entry)) {
+        URL url = ImagePathResolver.class.getResource("/" + imageName);
+        if (url != null) {
+          return url;
+        }
+        continue;
+      }
+      File candidate = ".".equals(entry) ? file : new File(entry, imageName);
+      if (candidate.exists()) {
+        return candidate.toURI().toURL();
+      }
+    }
+    return null;
+  }
+
+  // the search path from the system property, or the default one
+  private static List<String> defaultSearchPath() {
+    String property = System.getProperty(SEARCH_PATH_PROPERTY);
+    if (property == null || property.isBlank()) {
+      return DEFAULT_SEARCH_PATH;
+    }
+    List<String> entries = new ArrayList<>();
+    for (String entry : property.split(File.pathSeparator)) {
+      if (!entry.isBlank()) {
+        entries.add(entry.trim());
+      }
+    }
+    return entries;
+  }
+}
@@ -0,0 +1,53 @@
+package org.jabberpoint.src.model;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * Makes scaled copies of images in the format of a display.
+ *
+ * <p>An image in the format of the display it is drawn on, at the size it is drawn at, can be
+ * copied to the screen without converting or scaling its pixels, which the graphics pipeline can do
+ * in hardware.
+ */
+public class ImageScaler {
+
+  private ImageScaler() {}
+
+  /**
+   * Makes a scaled copy of an image
+   *
+   * <p>Images are scaled down in steps of at most a half, so that no source pixels are skipped.
+   *
+   * @param source The image to scale
+   * @param width The width of the copy in pixels
+   * @param height The height of the copy in pixels
+   * @param configuration The display the copy will be drawn on
+   * @return A copy in the format of the display
+   */
+  public static BufferedImage scale(
+      BufferedImage source, int width, int height, GraphicsConfiguration configuration) {
+    BufferedImage current = source;
+    do {
+      // halve while the image is still at least twice as large as the target
+      int stepWidth = current.getWidth() / 2 >= width ? current.getWidth() / 2 : width;
+      int stepHeight = current.getHeight() / 2 >= height ? current.getHeight() / 2 : height;
+      BufferedImage next =
+          configuration.createCompatibleImage(
+              stepWidth, stepHeight, source.getColorModel().getTransparency());
+      Graphics2D g = next.createGraphics();
+      try {
+        g.setRenderingHint(
+            RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(current, 0, 0, stepWidth, stepHeight, null);
+      } finally {
+        g.dispose();
+      }
+      current = next;
+    } while (current.getWidth() != width || current.getHeight() != height);
+    return current;
+  }
+}
@@ -0,0 +1,83 @@
+package org.jabberpoint.src.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Slide store that keeps all slides in memory.
+ *
+ * <p>One thread may append while others read, without locks: a slide is stored before the new size
+ * is published, and readers see a consistent pair of array and size, so every slide below the size
+ * a reader saw can be read.
+ */
+public class ListSlideStore implements SlideStore {
+  private static final int INITIAL_CAPACITY = 16;
+
+  private volatile Snapshot snapshot;
+
+  public ListSlideStore() {
+    this(INITIAL_CAPACITY);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param capacity The number of slides that fit before the store has to grow
+   */
+  public ListSlideStore(int capacity) {
+    snapshot = new Snapshot(new Slide[Math.max(1, capacity)], 0);
+  }
+
+  @Override
+  public int size() {
+    return snapshot.size;
+  }
+
+  @Override
+  public Slide get(int number) {
+    Snapshot current = snapshot;
+    if (number < 0 || number >= current.size) {
+      throw new IndexOutOfBoundsException("Slide " + number + " of " + current.size);
+    }
+    return current.slides[number];
+  }
+
+  /** Adds a slide at the end; only one thread may append at a time */
+  @Override
+  public void append(Slide slide) {
+    Snapshot current = snapshot;
+    Slide[] slides = current.slides;
+    if (current.size == slides.length) {
+      slides = Arrays.copyOf(slides, slides.length * 2);
+    }
+    slides[current.size] = slide; // beyond the size readers see
+    snapshot = new Snapshot(slides, current.size + 1);
+  }
+
+  /** Adds slides at the end, growing at most once; readers see all of them or none */
+  @Override
+  public void appendAll(List<Slide> added) {
+    Snapshot current = snapshot;
+    Slide[] slides = current.slides;
+    int size = current.size + added.size();
+    if (size > slides.length) {
+      slides = Arrays.copyOf(slides, Math.max(size, slides.length * 2));
+    }
+    int number = current.size;
+    for (Slide slide : added) {
+      slides[number++] = slide; // beyond the size readers see
+    }
+    snapshot = new Snapshot(slides, size);
+  }
+
+  /** The slides and how many of them are in the store, published together */
+  private static final class Snapshot {
+    private final Slide[] slides;
+    private final int size;
+
+    Snapshot(Slide[] slides, int size) {
+      this.slides = slides;
+      this.size = size;
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package org.jabberpoint.src.model;
+
+/**
+ * Decides when and on which thread the observers of a presentation are notified.
+ *
+ * <p>A delivery reads the state of the presentation when it runs, not when it was dispatched, so a
+ * dispatcher may drop a delivery that is followed by another one before it ran: the observers then
+ * only see the latest state.
+ */
+public interface NotificationDispatcher {
+  /** Delivers every notification right away on the calling thread */
+  NotificationDispatcher SYNCHRONOUS = Runnable::run;
+
+  /**
+   * Has the observers notified
+   *
+   * @param delivery Notifies all observers of the current state of the presentation
+   */
+  void dispatch(Runnable delivery);
+}
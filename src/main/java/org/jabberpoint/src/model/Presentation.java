@@ -2,12 +2,26 @@ package org.jabberpoint.src.model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Presentation maintains the slides in the presentation.
  *
  * <p>There is only instance of this class.
  *
+ * <p>The presentation may be read by several threads, e.g. the event dispatch thread and threads
+ * that render slides, while one thread changes it, e.g. a loader. Nothing takes a lock: the current
+ * slide number is atomic, the slide store is replaced as a whole and observers are copied on write,
+ * so an observer may remove itself while it is notified. Slides are appended and stores replaced by
+ * one thread at a time.
+ *
+ * <p>A {@link PresentationChangeObserver} is told what changed with a {@link PresentationEvent},
+ * other observers are updated with the current slide. Changes that were made before a delivery ran
+ * are merged where possible, e.g. all moves to another slide into one.
+ *
  * @author Ian F. Darwin, ian@darwinsys.com, Gert Florijn, Sylvia Stuurman
  * @version 1.1 2002/12/17 Gert Florijn
  * @version 1.2 2003/11/19 Sylvia Stuurman
@@ -17,11 +31,17 @@ import java.util.List;
  * @version 1.6 2014/05/16 Sylvia Stuurman
  */
 public class Presentation {
-  private String showTitle; // title of the presentation
-  private ArrayList<Slide> showList = null; // an ArrayList with Slides
-  private int currentSlideNumber = 0; // the slidenummer of the current Slide
-  private List<PresentationObserver> observers =
-      new ArrayList<>(); // observers for the Observer pattern
+  private volatile String showTitle; // title of the presentation
+  private volatile SlideStore showList = null; // the store with the Slides
+  private final AtomicInteger currentSlideNumber =
+      new AtomicInteger(0); // the slidenummer of the current Slide
+  private final List<PresentationObserver> observers =
+      new CopyOnWriteArrayList<>(); // observers for the Observer pattern
+  private volatile NotificationDispatcher dispatcher = NotificationDispatcher.SYNCHRONOUS;
+  private final Queue<PresentationEvent> events =
+      new ConcurrentLinkedQueue<>(); // changes not yet delivered
+  private final AtomicInteger announcedSize =
+      new AtomicInteger(0); // the number of slides observers were told about
 
   public Presentation() {
     clear();
@@ -45,11 +65,47 @@ public class Presentation {
     observers.remove(observer);
   }
 
-  /** Notify all observers of a change */
-  private void notifyObservers() {
-    Slide currentSlide = getCurrentSlide();
+  /**
+   * Change when and where observers are notified, e.g. to merge rapid changes
+   *
+   * @param dispatcher The dispatcher, by default observers are notified right away
+   */
+  public void setNotificationDispatcher(NotificationDispatcher dispatcher) {
+    this.dispatcher = dispatcher;
+  }
+
+  /** Notify all observers of changes that were made together, in one delivery */
+  private void notifyObservers(PresentationEvent... changes) {
+    for (PresentationEvent event : changes) {
+      events.add(event);
+    }
+    dispatcher.dispatch(this::deliver);
+  }
+
+  // tell every observer about the changes not yet delivered, merging those that can be merged
+  private void deliver() {
+    List<PresentationEvent> merged = new ArrayList<>();
+    PresentationEvent event;
+    while ((event = events.poll()) != null) {
+      PresentationEvent combined =
+          merged.isEmpty() ? null : merged.get(merged.size() - 1).merge(event);
+      if (combined != null) {
+        merged.set(merged.size() - 1, combined);
+      } else {
+        merged.add(event);
+      }
+    }
+    if (merged.isEmpty()) {
+      return; // delivered by an earlier delivery
+    }
     for (PresentationObserver observer : observers) {
-      observer.update(this, currentSlide);
+      if (observer instanceof PresentationChangeObserver) {
+        for (PresentationEvent change : merged) {
+          ((PresentationChangeObserver) observer).presentationChanged(this, change);
+        }
+      } else {
+        observer.update(this, getCurrentSlide()); // once for all changes
+      }
     }
   }
 
@@ -57,61 +113,167 @@ public class Presentation {
     return showList.size();
   }
 
+  // give the store that holds the slides
+  public SlideStore getSlideStore() {
+    return showList;
+  }
+
+  // replace all slides by the slides of another store, e.g. one that reads them on demand
+  public void setSlideStore(SlideStore store) {
+    SlideStore previous = showList;
+    showList = store;
+    if (previous != null && previous != store) {
+      previous.dispose();
+    }
+    List<PresentationEvent> changes = replacedSlides(store);
+    notifyObservers(changes.toArray(new PresentationEvent[0]));
+  }
+
+  /**
+   * Replace all slides at once, e.g. by a newly loaded deck, and show the first one; observers are
+   * notified once
+   *
+   * @param slides The new slides
+   */
+  public void setSlides(List<Slide> slides) {
+    ListSlideStore store = new ListSlideStore(slides.size());
+    store.appendAll(slides);
+    SlideStore previous = showList;
+    showList = store;
+    currentSlideNumber.set(slides.isEmpty() ? -1 : 0);
+    if (previous != null) {
+      previous.dispose();
+    }
+    List<PresentationEvent> changes = replacedSlides(store);
+    changes.add(PresentationEvent.currentSlideChanged(getSlideNumber()));
+    notifyObservers(changes.toArray(new PresentationEvent[0]));
+  }
+
+  // the changes of replacing the slides observers know about by those of a store
+  private List<PresentationEvent> replacedSlides(SlideStore store) {
+    int size = store.size();
+    int removed = announcedSize.getAndSet(size);
+    List<PresentationEvent> changes = new ArrayList<>();
+    if (removed > 0) {
+      changes.add(PresentationEvent.slidesRemoved(0, removed - 1));
+    }
+    if (size > 0) {
+      changes.add(PresentationEvent.slidesInserted(0, size - 1));
+    }
+    return changes;
+  }
+
   public String getTitle() {
     return showTitle;
   }
 
   public void setTitle(String nt) {
     showTitle = nt;
+    notifyObservers(PresentationEvent.titleChanged());
   }
 
   // give the number of the current slide
   public int getSlideNumber() {
-    return currentSlideNumber;
+    return currentSlideNumber.get();
   }
 
   // change the current slide number and signal it to the observers
   public void setSlideNumber(int number) {
-    currentSlideNumber = number;
-    notifyObservers();
+    currentSlideNumber.set(number);
+    notifyObservers(PresentationEvent.currentSlideChanged(number));
   }
 
   // go to the previous slide unless your at the beginning of the presentation
   public void prevSlide() {
-    if (currentSlideNumber > 0) {
-      setSlideNumber(currentSlideNumber - 1);
-    }
+    int number;
+    do {
+      number = currentSlideNumber.get();
+      if (number <= 0) {
+        return;
+      }
+    } while (!currentSlideNumber.compareAndSet(number, number - 1));
+    notifyObservers(PresentationEvent.currentSlideChanged(number - 1));
   }
 
   // go to the next slide unless your at the end of the presentation.
   public void nextSlide() {
-    if (currentSlideNumber < (showList.size() - 1)) {
-      setSlideNumber(currentSlideNumber + 1);
-    }
+    int number;
+    do {
+      number = currentSlideNumber.get();
+      if (number >= showList.size() - 1) {
+        return;
+      }
+    } while (!currentSlideNumber.compareAndSet(number, number + 1));
+    notifyObservers(PresentationEvent.currentSlideChanged(number + 1));
   }
 
   // Delete the presentation to be ready for the next one.
   public void clear() {
-    showList = new ArrayList<Slide>();
+    setSlideStore(new ListSlideStore());
     setSlideNumber(-1);
   }
 
   // Add a slide to the presentation
   public void append(Slide slide) {
-    showList.add(slide);
+    showList.append(slide);
+  }
+
+  /**
+   * Add slides to the end of the presentation at once; observers are notified once, and readers of
+   * an in-memory presentation see all of them or none
+   *
+   * @param slides The slides to add, in order
+   */
+  public void appendAll(List<Slide> slides) {
+    if (slides.isEmpty()) {
+      return;
+    }
+    showList.appendAll(slides);
+    int size = getSize();
+    int announced = announcedSize.getAndSet(size);
+    notifyObservers(PresentationEvent.slidesInserted(announced, size - 1));
+  }
+
+  // Signal the observers that the presentation changed without moving to another slide,
+  // e.g. because slides were appended while it is already shown
+  public void refresh() {
+    int size = getSize();
+    int announced = announcedSize.getAndSet(size);
+    if (size > announced) {
+      notifyObservers(PresentationEvent.slidesInserted(announced, size - 1));
+    } else if (size < announced) {
+      notifyObservers(PresentationEvent.slidesRemoved(size, announced - 1));
+    } else {
+      int number = getSlideNumber();
+      notifyObservers(
+          number >= 0
+              ? PresentationEvent.slidesChanged(number, number)
+              : PresentationEvent.slidesChanged(0, size - 1));
+    }
+  }
+
+  /**
+   * Signal the observers that the content of slides changed, e.g. after editing them
+   *
+   * @param first The number of the first changed slide
+   * @param last The number of the last changed slide
+   */
+  public void slidesChanged(int first, int last) {
+    notifyObservers(PresentationEvent.slidesChanged(first, last));
   }
 
   // Get a slide with a certain slidenumber
   public Slide getSlide(int number) {
-    if (number < 0 || number >= getSize()) {
+    SlideStore store = showList; // the same store for the check and the read
+    if (number < 0 || number >= store.size()) {
       return null;
     }
-    return (Slide) showList.get(number);
+    return store.get(number);
   }
 
   // Give the current slide
   public Slide getCurrentSlide() {
-    return getSlide(currentSlideNumber);
+    return getSlide(currentSlideNumber.get());
   }
 
   public void exit(int n) {
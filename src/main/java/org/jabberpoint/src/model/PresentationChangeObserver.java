@@ -0,0 +1,15 @@
+package org.jabberpoint.src.model;
+
+/**
+ * An observer that is told what changed in a presentation, so that it only redoes what the change
+ * affects, instead of being updated with the current slide after every change.
+ */
+public interface PresentationChangeObserver extends PresentationObserver {
+  /**
+   * Tells what changed in the presentation
+   *
+   * @param presentation The presentation that changed
+   * @param event The change
+   */
+  void presentationChanged(Presentation presentation, PresentationEvent event);
+}
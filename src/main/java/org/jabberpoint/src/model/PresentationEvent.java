@@ -0,0 +1,101 @@
+package org.jabberpoint.src.model;
+
+/**
+ * A change of a presentation, so that observers only redo what the change affects.
+ *
+ * <p>Changes of slides cover the range of slide numbers from {@link #getFirst} to {@link #getLast},
+ * both included; the range is empty if the last is below the first. Inserted and removed slides
+ * move the slides after them, so their numbers change as well.
+ */
+public final class PresentationEvent {
+  /** The kinds of changes */
+  public enum Type {
+    /** Slides were added, e.g. appended by a loader */
+    SLIDES_INSERTED,
+    /** Slides were removed, e.g. because the presentation was cleared */
+    SLIDES_REMOVED,
+    /** The content of slides changed, e.g. an image was zoomed */
+    SLIDES_CHANGED,
+    /** Another slide is shown; the range is the number of the new current slide */
+    CURRENT_SLIDE_CHANGED,
+    /** The title of the presentation changed; the range is empty */
+    TITLE_CHANGED
+  }
+
+  private final Type type;
+  private final int first;
+  private final int last;
+
+  private PresentationEvent(Type type, int first, int last) {
+    this.type = type;
+    this.first = first;
+    this.last = last;
+  }
+
+  public static PresentationEvent slidesInserted(int first, int last) {
+    return new PresentationEvent(Type.SLIDES_INSERTED, first, last);
+  }
+
+  public static PresentationEvent slidesRemoved(int first, int last) {
+    return new PresentationEvent(Type.SLIDES_REMOVED, first, last);
+  }
+
+  public static PresentationEvent slidesChanged(int first, int last) {
+    return new PresentationEvent(Type.SLIDES_CHANGED, first, last);
+  }
+
+  public static PresentationEvent currentSlideChanged(int slideNumber) {
+    return new PresentationEvent(Type.CURRENT_SLIDE_CHANGED, slideNumber, slideNumber);
+  }
+
+  public static PresentationEvent titleChanged() {
+    return new PresentationEvent(Type.TITLE_CHANGED, 0, -1);
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  /** Gives the number of the first slide that changed */
+  public int getFirst() {
+    return first;
+  }
+
+  /** Gives the number of the last slide that changed */
+  public int getLast() {
+    return last;
+  }
+
+  /** Tells whether a slide is in the range of the change */
+  public boolean covers(int slideNumber) {
+    return slideNumber >= first && slideNumber <= last;
+  }
+
+  /**
+   * Combines this change with the one right after it, e.g. when notifications are merged
+   *
+   * @param next The next change
+   * @return One change that has the same effect as both, or null if there is none
+   */
+  PresentationEvent merge(PresentationEvent next) {
+    if (next.type != type) {
+      return null;
+    }
+    switch (type) {
+      case CURRENT_SLIDE_CHANGED:
+      case TITLE_CHANGED:
+        return next; // only the latest state matters
+      case SLIDES_CHANGED:
+        return slidesChanged(Math.min(first, next.first), Math.max(last, next.last));
+      case SLIDES_INSERTED:
+        return next.first == last + 1 ? slidesInserted(first, next.last) : null;
+      default:
+        return null;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return type + " " + first + ".." + last;
+  }
+}
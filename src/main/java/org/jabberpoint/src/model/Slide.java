@@ -1,7 +1,9 @@
 package org.jabberpoint.src.model;
 
 import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.Rectangle;
+import java.awt.font.FontRenderContext;
 import java.awt.image.ImageObserver;
 import java.util.Vector;
 
@@ -21,6 +23,9 @@ public class Slide {
   public static final int HEIGHT = 800;
   protected String title = ""; // title is saved separately and initialized to empty string
   protected Vector<SlideItem> items; // slide items are saved in a Vector
+  private int revision = 0; // counts changes of the title and items
+  private volatile TextItem titleItem; // draws the title
+  private volatile SlideLayout layout; // the layout of the last paint
 
   public Slide() {
     items = new Vector<SlideItem>();
@@ -29,6 +34,7 @@ public class Slide {
   // Add a slide item
   public void append(SlideItem anItem) {
     items.addElement(anItem);
+    revision++;
   }
 
   // give the title of the slide
@@ -39,6 +45,7 @@ public class Slide {
   // change the title of the slide
   public void setTitle(String newTitle) {
     title = newTitle == null ? "" : newTitle;
+    revision++;
   }
 
   // Create TextItem of String, and add the TextItem
@@ -61,12 +68,55 @@ public class Slide {
     return items.size();
   }
 
+  // Tell whether some items are still loading and would be drawn as placeholders
+  public boolean isLoading() {
+    boolean loading = false;
+    for (int number = 0; number < getSize(); number++) {
+      loading |= getSlideItem(number).isLoading(); // starts loading all items
+    }
+    return loading;
+  }
+
+  // Give a number that changes whenever the slide looks different, including its items
+  public int getRevision() {
+    int sum = revision;
+    for (int number = 0; number < getSize(); number++) {
+      sum += getSlideItem(number).getRevision();
+    }
+    return sum;
+  }
+
+  // Give the item that draws the title, made again when the title changes
+  TextItem getTitleItem() {
+    TextItem item = titleItem;
+    if (item == null || !item.getText().equals(getTitle())) {
+      item = new TextItem(0, getTitle());
+      titleItem = item;
+    }
+    return item;
+  }
+
+  // Give the layout of the slide in an area, reusing the previous one when nothing changed
+  public SlideLayout getLayout(Rectangle area, FontRenderContext frc, ImageObserver view) {
+    SlideLayout cached = layout;
+    if (cached != null && cached.isFor(this, area, frc)) {
+      return cached;
+    }
+    cached = SlideLayout.layout(this, area, frc, view);
+    layout = cached;
+    return cached;
+  }
+
   // draw the slide
   public void draw(Graphics g, Rectangle area, ImageObserver view) {
+    if (g instanceof Graphics2D) {
+      getLayout(area, ((Graphics2D) g).getFontRenderContext(), view).paint(g, view);
+      return;
+    }
     float scale = getScale(area);
     int y = area.y;
     // Title is handled separately
-    SlideItem slideItem = new TextItem(0, getTitle());
+    SlideItem slideItem = getTitleItem();
     Style style = Style.getStyle(slideItem.getLevel());
     slideItem.draw(area.x, y, scale, g, style, view);
     y += slideItem.getBoundingBox(g, view, scale, style).height;
@@ -79,7 +129,7 @@ public class Slide {
   }
 
   // Give the scale for drawing
-  private float getScale(Rectangle area) {
+  static float getScale(Rectangle area) {
     return Math.min(
         ((float) area.width) / ((float) WIDTH), ((float) area.height) / ((float) HEIGHT));
   }
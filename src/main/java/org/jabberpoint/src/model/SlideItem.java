@@ -35,6 +35,16 @@ public abstract class SlideItem {
     return level;
   }
 
+  // Tell whether the item is still loading content, e.g. an image, and would draw a placeholder
+  public boolean isLoading() {
+    return false;
+  }
+
+  // Give a number that changes whenever the item looks different, e.g. when an image is loaded
+  public int getRevision() {
+    return 0;
+  }
+
   // Give the bounding box
   public abstract Rectangle getBoundingBox(
       Graphics g, ImageObserver observer, float scale, Style style);
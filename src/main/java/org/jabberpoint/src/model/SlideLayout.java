@@ -0,0 +1,250 @@
+package org.jabberpoint.src.model;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.awt.font.TextLayout;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The positions of the title and the items of a slide in an area.
+ *
+ * <p>A layout is computed once by {@link #layout}, which measures but does not draw, and is then
+ * painted any number of times by {@link #paint}. Text is broken into positioned lines during the
+ * layout, so painting text only draws those lines; other items, such as images, are told where to
+ * draw themselves. Measuring uses a font render context instead of a screen, so layouts can be
+ * computed on any thread.
+ *
+ * <p>A layout is immutable. It stays valid while the slide keeps its revision and the styles are
+ * not replaced, see {@link #isFor}.
+ */
+public final class SlideLayout {
+  private final Rectangle area;
+  private final float scale;
+  private final FontRenderContext frc;
+  private final int revision;
+  private final List<Placement> placements;
+  private final int height;
+
+  private SlideLayout(
+      Rectangle area,
+      float scale,
+      FontRenderContext frc,
+      int revision,
+      List<Placement> placements,
+      int height) {
+    this.area = area;
+    this.scale = scale;
+    this.frc = frc;
+    this.revision = revision;
+    this.placements = placements;
+    this.height = height;
+  }
+
+  /**
+   * Lays out a slide
+   *
+   * @param slide The slide
+   * @param area The area the slide is drawn in
+   * @param frc The font render context of the graphics the slide is painted on, or null for the
+   *     shared {@link TextRenderContext}
+   * @param observer The observer for the images on the slide, may be null
+   * @return The layout
+   */
+  public static SlideLayout layout(
+      Slide slide, Rectangle area, FontRenderContext frc, ImageObserver observer) {
+    if (frc == null) {
+      frc = TextRenderContext.get();
+    }
+    int revision = slide.getRevision(); // read first, so a change while measuring is noticed
+    float scale = Slide.getScale(area);
+    List<Placement> placements = new ArrayList<>();
+    Graphics2D g = createMeasuringGraphics(frc);
+    try {
+      int y = area.y;
+      y += place(slide.getTitleItem(), area.x, y, scale, g, observer, placements);
+      for (SlideItem item : slide.getSlideItems()) {
+        y += place(item, area.x, y, scale, g, observer, placements);
+      }
+      return new SlideLayout(
+          new Rectangle(area),
+          scale,
+          frc,
+          revision,
+          Collections.unmodifiableList(placements),
+          y - area.y);
+    } finally {
+      g.dispose();
+    }
+  }
+
+  /**
+   * Paints the slide as laid out
+   *
+   * @param g The graphics to paint on
+   * @param observer The observer for the images on the slide
+   */
+  public void paint(Graphics g, ImageObserver observer) {
+    for (Placement placement : placements) {
+      placement.paint(g, observer);
+    }
+  }
+
+  /**
+   * Tells whether the layout can still be painted for a slide
+   *
+   * @param slide The slide
+   * @param area The area the slide is drawn in
+   * @param frc The font render context of the graphics the slide is painted on
+   * @return True if the slide, the area, the render context and the styles are unchanged
+   */
+  public boolean isFor(Slide slide, Rectangle area, FontRenderContext frc) {
+    if (!this.area.equals(area) || !this.frc.equals(frc) || revision != slide.getRevision()) {
+      return false;
+    }
+    for (Placement placement : placements) {
+      if (placement.style != Style.getStyle(placement.level)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public Rectangle getArea() {
+    return new Rectangle(area);
+  }
+
+  public float getScale() {
+    return scale;
+  }
+
+  /** Gives the height of the title and the items together, which may exceed the area */
+  public int getHeight() {
+    return height;
+  }
+
+  /** Gives the number of laid out items, including the title */
+  public int getItemCount() {
+    return placements.size();
+  }
+
+  /** Gives the heights of the laid out items, the title first */
+  public int[] getItemHeights() {
+    int[] heights = new int[placements.size()];
+    for (int number = 0; number < heights.length; number++) {
+      heights[number] = placements.get(number).height;
+    }
+    return heights;
+  }
+
+  // lay out one item below the previous ones, giving its height
+  private static int place(
+      SlideItem item,
+      int x,
+      int y,
+      float scale,
+      Graphics2D g,
+      ImageObserver observer,
+      List<Placement> placements) {
+    Style style = Style.getStyle(item.getLevel());
+    int height = item.getBoundingBox(g, observer, scale, style).height;
+    if (item instanceof TextItem) {
+      placements.add(new TextPlacement((TextItem) item, x, y, scale, style, height, g));
+    } else {
+      placements.add(new ItemPlacement(item, x, y, scale, style, height));
+    }
+    return height;
+  }
+
+  // a graphics that measures text as the graphics of the render context would
+  private static Graphics2D createMeasuringGraphics(FontRenderContext frc) {
+    Graphics2D g = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB).createGraphics();
+    g.setTransform(frc.getTransform());
+    g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, frc.getAntiAliasingHint());
+    g.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, frc.getFractionalMetricsHint());
+    return g;
+  }
+
+  /** An item and the style it was laid out with */
+  private abstract static class Placement {
+    final int level;
+    final Style style;
+    final int height;
+
+    Placement(int level, Style style, int height) {
+      this.level = level;
+      this.style = style;
+      this.height = height;
+    }
+
+    abstract void paint(Graphics g, ImageObserver observer);
+  }
+
+  /** The lines of a text item at their pen positions */
+  private static final class TextPlacement extends Placement {
+    private final Color color;
+    private final List<TextLayout> lines;
+    private final float[] penX;
+    private final float[] penY;
+
+    TextPlacement(TextItem item, int x, int y, float scale, Style style, int height, Graphics2D g) {
+      super(item.getLevel(), style, height);
+      this.color = style.color;
+      this.lines =
+          item.getText().isEmpty()
+              ? List.of()
+              : item.getLayouts(g.getFontRenderContext(), style, scale);
+      this.penX = new float[lines.size()];
+      this.penY = new float[lines.size()];
+      // the same pen movements as TextItem.draw
+      int pen = y + (int) (style.leading * scale);
+      for (int number = 0; number < lines.size(); number++) {
+        TextLayout line = lines.get(number);
+        pen += line.getAscent();
+        penX[number] = x + (int) (style.indent * scale);
+        penY[number] = pen;
+        pen += line.getDescent();
+      }
+    }
+
+    @Override
+    void paint(Graphics g, ImageObserver observer) {
+      if (lines.isEmpty()) {
+        return;
+      }
+      Graphics2D g2d = (Graphics2D) g;
+      g2d.setColor(color);
+      for (int number = 0; number < lines.size(); number++) {
+        lines.get(number).draw(g2d, penX[number], penY[number]);
+      }
+    }
+  }
+
+  /** An item that draws itself at its position */
+  private static final class ItemPlacement extends Placement {
+    private final SlideItem item;
+    private final int x;
+    private final int y;
+    private final float scale;
+
+    ItemPlacement(SlideItem item, int x, int y, float scale, Style style, int height) {
+      super(item.getLevel(), style, height);
+      this.item = item;
+      this.x = x;
+      this.y = y;
+      this.scale = scale;
+    }
+
+    @Override
+    void paint(Graphics g, ImageObserver observer) {
+      item.draw(x, y, scale, g, style, observer);
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package org.jabberpoint.src.model;
+
+import java.util.List;
+
+/**
+ * Storage of the slides of a presentation.
+ *
+ * <p>Presentation only accesses its slides through this interface, so slides do not have to be kept
+ * in memory: a store can also materialize them on demand.
+ */
+public interface SlideStore {
+  /**
+   * Gives the number of slides
+   *
+   * @return The number of slides in the store
+   */
+  int size();
+
+  /**
+   * Gives a slide
+   *
+   * @param number The number of the slide, between 0 and size() - 1
+   * @return The slide, or null if it cannot be read
+   */
+  Slide get(int number);
+
+  /**
+   * Adds a slide at the end
+   *
+   * @param slide The slide to add
+   * @throws UnsupportedOperationException If the store is read-only
+   */
+  default void append(Slide slide) {
+    throw new UnsupportedOperationException("This slide store is read-only");
+  }
+
+  /**
+   * Adds slides at the end, in order
+   *
+   * @param slides The slides to add
+   * @throws UnsupportedOperationException If the store is read-only
+   */
+  default void appendAll(List<Slide> slides) {
+    for (Slide slide : slides) {
+      append(slide);
+    }
+  }
+
+  /** Releases the resources of the store once the presentation no longer uses it */
+  default void dispose() {}
+}
@@ -2,6 +2,9 @@ package org.jabberpoint.src.model;
 
 import java.awt.Color;
 import java.awt.Font;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Style is for Indent, Color, Font and Leading.
@@ -19,35 +22,51 @@ import java.awt.Font;
  */
 public class Style {
   // Singleton instance
-  private static Style instance = null;
+  // Volatile, so the styles are made once also when slides are laid out on several threads
+  private static volatile Style instance = null;
 
-  private static Style[] styles; // de styles
+  private static volatile Style[] styles; // de styles
 
   private static final String FONTNAME = "Helvetica";
+  // Scales are rounded to this step before a font is derived, so resizing a window does not
+  // derive a new font for every pixel
+  private static final float SCALE_STEP = 1f / 64;
+  private static final int MAX_CACHED_FONTS = 16;
   int indent;
   Color color;
   Font font;
   int fontSize;
   int leading;
+  private final Map<Float, Font> fontCache = createFontCache(); // derived fonts by scale
+  private final AtomicLong fontCacheHits = new AtomicLong();
+  private final AtomicLong fontCacheMisses = new AtomicLong();
 
   // Private constructor for Singleton pattern
   private Style() {
-    // Initialize styles
-    styles = new Style[5];
+    // Initialize styles, published only when complete
+    Style[] created = new Style[5];
     // The styles are fixed.
-    styles[0] = new Style(0, Color.red, 48, 20); // style for item-level 0
-    styles[1] = new Style(20, Color.blue, 40, 10); // style for item-level 1
-    styles[2] = new Style(50, Color.black, 36, 10); // style for item-level 2
-    styles[3] = new Style(70, Color.black, 30, 10); // style for item-level 3
-    styles[4] = new Style(90, Color.black, 24, 10); // style for item-level 4
+    created[0] = new Style(0, Color.red, 48, 20); // style for item-level 0
+    created[1] = new Style(20, Color.blue, 40, 10); // style for item-level 1
+    created[2] = new Style(50, Color.black, 36, 10); // style for item-level 2
+    created[3] = new Style(70, Color.black, 30, 10); // style for item-level 3
+    created[4] = new Style(90, Color.black, 24, 10); // style for item-level 4
+    styles = created;
   }
 
   // Get the singleton instance
   public static Style getInstance() {
-    if (instance == null) {
-      instance = new Style();
+    Style style = instance;
+    if (style == null) {
+      synchronized (Style.class) {
+        style = instance;
+        if (style == null) {
+          style = new Style();
+          instance = style;
+        }
+      }
     }
-    return instance;
+    return style;
   }
 
   // For backward compatibility
@@ -55,11 +74,14 @@ public class Style {
     getInstance();
   }
 
+  // Get the style for an item-level, making the styles when they are first needed
   public static Style getStyle(int level) {
-    if (level >= styles.length) {
-      level = styles.length - 1;
+    getInstance();
+    Style[] current = styles;
+    if (level >= current.length) {
+      level = current.length - 1;
     }
-    return styles[level];
+    return current[level];
   }
 
   public Style(int indent, Color color, int points, int leading) {
@@ -73,7 +95,41 @@ public class Style {
     return "[" + indent + "," + color + "; " + fontSize + " on " + leading + "]";
   }
 
+  // Give the font for a scale, derived once per (rounded) scale
   public Font getFont(float scale) {
-    return font.deriveFont(fontSize * scale);
+    float roundedScale = Math.round(scale / SCALE_STEP) * SCALE_STEP;
+    synchronized (fontCache) {
+      Font derived = fontCache.get(roundedScale);
+      if (derived != null) {
+        fontCacheHits.incrementAndGet();
+        return derived;
+      }
+      fontCacheMisses.incrementAndGet();
+      derived = font.deriveFont(fontSize * roundedScale);
+      fontCache.put(roundedScale, derived);
+      return derived;
+    }
+  }
+
+  // Give the number of getFont calls that reused a derived font
+  public long getFontCacheHits() {
+    return fontCacheHits.get();
+  }
+
+  // Give the number of getFont calls that had to derive a font
+  public long getFontCacheMisses() {
+    return fontCacheMisses.get();
+  }
+
+  // A map in access order that forgets the least recently used font when it is full
+  private static Map<Float, Font> createFontCache() {
+    return new LinkedHashMap<Float, Font>(MAX_CACHED_FONTS, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Float, Font> eldest) {
+        return size() > MAX_CACHED_FONTS;
+      }
+    };
   }
 }
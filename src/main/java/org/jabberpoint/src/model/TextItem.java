@@ -12,6 +12,7 @@ import java.awt.geom.Rectangle2D;
 import java.awt.image.ImageObserver;
 import java.text.AttributedString;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -30,6 +31,8 @@ import java.util.List;
  */
 public class TextItem extends SlideItem {
   private String text;
+  // the line layouts of the last paint, shared by draw and getBoundingBox
+  private volatile CachedLayouts cachedLayouts;
 
   private static final String EMPTYTEXT = "No Text Given";
 
@@ -62,12 +65,11 @@ public class TextItem extends SlideItem {
 
   // give the bounding box of the item
   public Rectangle getBoundingBox(Graphics g, ImageObserver observer, float scale, Style myStyle) {
-    if (g == null) {
-      // Return a default bounding box if no graphics context
-      return new Rectangle((int) (myStyle.indent * scale), 0, 10, (int) (myStyle.leading * scale));
-    }
-
-    List<TextLayout> layouts = getLayouts(g, myStyle, scale);
+    // Without a graphics context the text is measured as it would be painted on a slide
+    List<TextLayout> layouts =
+        g == null
+            ? getLayouts(TextRenderContext.get(), myStyle, scale)
+            : getLayouts(g, myStyle, scale);
     int xsize = 0, ysize = (int) (myStyle.leading * scale);
     Iterator<TextLayout> iterator = layouts.iterator();
     while (iterator.hasNext()) {
@@ -103,25 +105,67 @@ public class TextItem extends SlideItem {
     }
   }
 
+  // Forget the cached line layouts, e.g. after the styles changed
+  public void invalidateLayout() {
+    cachedLayouts = null;
+  }
+
+  // Give the line layouts, reusing those of the previous call when nothing changed.
+  // A resize changes the scale and therefore replaces the cached layouts.
   private List<TextLayout> getLayouts(Graphics g, Style s, float scale) {
-    List<TextLayout> layouts = new ArrayList<TextLayout>();
     if (g == null || getText().isEmpty()) {
-      return layouts; // Return empty list if no graphics context or empty text
+      return new ArrayList<TextLayout>(); // Empty list if no graphics context or empty text
+    }
+
+    return getLayouts(((Graphics2D) g).getFontRenderContext(), s, scale);
+  }
+
+  // Give the line layouts for a font render context, also used when laying out a whole slide
+  List<TextLayout> getLayouts(FontRenderContext frc, Style s, float scale) {
+    if (getText().isEmpty()) {
+      return new ArrayList<TextLayout>();
+    }
+    CachedLayouts cached = cachedLayouts;
+    if (cached != null && cached.matches(s, scale, frc)) {
+      return cached.layouts;
     }
+    List<TextLayout> layouts = createLayouts(s, scale, frc);
+    cachedLayouts = new CachedLayouts(s, scale, frc, layouts);
+    return layouts;
+  }
 
+  private List<TextLayout> createLayouts(Style s, float scale, FontRenderContext frc) {
+    List<TextLayout> layouts = new ArrayList<TextLayout>();
     AttributedString attrStr = getAttributedString(s, scale);
-    Graphics2D g2d = (Graphics2D) g;
-    FontRenderContext frc = g2d.getFontRenderContext();
     LineBreakMeasurer measurer = new LineBreakMeasurer(attrStr.getIterator(), frc);
     float wrappingWidth = (Slide.WIDTH - s.indent) * scale;
     while (measurer.getPosition() < getText().length()) {
       TextLayout layout = measurer.nextLayout(wrappingWidth);
       layouts.add(layout);
     }
-    return layouts;
+    return Collections.unmodifiableList(layouts);
   }
 
   public String toString() {
     return "TextItem[" + getLevel() + "," + getText() + "]";
   }
+
+  /** Line layouts together with the style, scale and render context they were made for */
+  private static final class CachedLayouts {
+    private final Style style;
+    private final float scale;
+    private final FontRenderContext frc;
+    private final List<TextLayout> layouts;
+
+    CachedLayouts(Style style, float scale, FontRenderContext frc, List<TextLayout> layouts) {
+      this.style = style;
+      this.scale = scale;
+      this.frc = frc;
+      this.layouts = layouts;
+    }
+
+    boolean matches(Style style, float scale, FontRenderContext frc) {
+      return this.style == style && Float.compare(this.scale, scale) == 0 && this.frc.equals(frc);
+    }
+  }
 }
@@ -0,0 +1,57 @@
+package org.jabberpoint.src.model;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+
+/**
+ * The font render context for measuring slide text without a screen.
+ *
+ * <p>Slides are painted with the same anti-aliasing and fractional metrics hints, see {@link
+ * #applyTo}, so text measured with this context, e.g. by a background thread, an exporter or an
+ * analyzer, is broken into the same lines and has the same size as when it is painted. The hints
+ * default to off, which is how images are painted by default; they can be set with the system
+ * properties {@value #ANTIALIAS_PROPERTY} and {@value #FRACTIONAL_METRICS_PROPERTY}, or with {@link
+ * #configure}.
+ */
+public final class TextRenderContext {
+  /** The system property that turns on anti-aliased text */
+  public static final String ANTIALIAS_PROPERTY = "jabberpoint.textAntialias";
+
+  /** The system property that turns on fractional text metrics */
+  public static final String FRACTIONAL_METRICS_PROPERTY = "jabberpoint.fractionalMetrics";
+
+  private static volatile FontRenderContext context =
+      new FontRenderContext(
+          null,
+          Boolean.getBoolean(ANTIALIAS_PROPERTY),
+          Boolean.getBoolean(FRACTIONAL_METRICS_PROPERTY));
+
+  private TextRenderContext() {}
+
+  /** Gives the shared context, without a transform */
+  public static FontRenderContext get() {
+    return context;
+  }
+
+  /**
+   * Changes the hints slide text is measured and painted with
+   *
+   * @param antiAliased Whether text is anti-aliased
+   * @param fractionalMetrics Whether text is measured with fractional metrics
+   */
+  public static void configure(boolean antiAliased, boolean fractionalMetrics) {
+    context = new FontRenderContext(null, antiAliased, fractionalMetrics);
+  }
+
+  /**
+   * Sets the text hints of the shared context on a graphics that slides are painted on
+   *
+   * @param g The graphics
+   */
+  public static void applyTo(Graphics2D g) {
+    FontRenderContext shared = context;
+    g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, shared.getAntiAliasingHint());
+    g.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, shared.getFractionalMetricsHint());
+  }
+}
@@ -0,0 +1,344 @@
+package org.jabberpoint.src.model;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * A large image that is decoded in tiles, for zooming into it.
+ *
+ * <p>The tiles form a pyramid: at level 0 a tile holds {@link #TILE_SIZE} square source pixels, at
+ * every next level it covers twice as many source pixels in each direction, decoded with source
+ * subsampling. Only the tiles of the visible part of the image are decoded, at the level that
+ * matches the zoom, with {@link ImageReadParam#setSourceRegion}; the image is never decoded as a
+ * whole. Decoded tiles are kept in the {@link ImageCache}, so they count against its budget and are
+ * pushed out with the other images; each image also keeps at most a fixed number of tiles.
+ */
+public class TiledImage {
+  /** The width and height of a tile in decoded pixels */
+  public static final int TILE_SIZE = 256;
+
+  /** The default maximum number of cached tiles of one image */
+  public static final int DEFAULT_MAX_TILES = 192;
+
+  private static final Color PLACEHOLDER = new Color(230, 230, 230);
+
+  private final URL source;
+  private final Dimension size;
+  private final int maxTiles;
+  private final ImageCache cache;
+  private final Map<Tile, Boolean> tiles; // the tiles put in the image cache, in access order
+  private final Map<Tile, CompletableFuture<Void>> requested = new HashMap<>();
+  private final Set<Tile> failed = new HashSet<>();
+  private final Set<ImageObserver> waitingObservers = new LinkedHashSet<>();
+  private final Runnable tileListener;
+  private long decodedTiles = 0;
+  private boolean disposed = false; // tiles decoded from now on are not cached
+
+  /**
+   * Constructor, keeping the tiles in the shared image cache
+   *
+   * @param source The location of the image
+   * @param size The size of the image in source pixels
+   * @param maxTiles The maximum number of cached tiles
+   * @param tileListener Called on a decoding thread whenever a tile has been decoded, may be null
+   */
+  public TiledImage(URL source, Dimension size, int maxTiles, Runnable tileListener) {
+    this(source, size, maxTiles, tileListener, ImageCache.getInstance());
+  }
+
+  /**
+   * Constructor
+   *
+   * @param source The location of the image
+   * @param size The size of the image in source pixels
+   * @param maxTiles The maximum number of cached tiles
+   * @param tileListener Called on a decoding thread whenever a tile has been decoded, may be null
+   * @param cache The image cache that holds the decoded tiles within its budget
+   */
+  public TiledImage(
+      URL source, Dimension size, int maxTiles, Runnable tileListener, ImageCache cache) {
+    this.source = source;
+    this.size = new Dimension(size);
+    this.maxTiles = maxTiles;
+    this.tileListener = tileListener;
+    this.cache = cache;
+    this.tiles =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          private static final long serialVersionUID = 1L;
+
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Tile, Boolean> eldest) {
+            if (size() <= TiledImage.this.maxTiles) {
+              return false;
+            }
+            cache.removeDerived(source, eldest.getKey().getVariant());
+            return true;
+          }
+        };
+  }
+
+  public Dimension getSize() {
+    return new Dimension(size);
+  }
+
+  /**
+   * Gives the pyramid level for drawing at a scale
+   *
+   * @param sourcePixelsPerPixel The number of source pixels that end up in one drawn pixel
+   * @return The highest level whose tiles still have at least one pixel per drawn pixel
+   */
+  public static int getLevel(double sourcePixelsPerPixel) {
+    int level = 0;
+    while ((2 << level) <= sourcePixelsPerPixel && level < 30) {
+      level++;
+    }
+    return level;
+  }
+
+  /**
+   * Draws a part of the image, starting to decode the tiles that are not cached
+   *
+   * @param g The graphics to draw on
+   * @param target The area to draw the part in
+   * @param viewport The part of the image to draw, in source pixels
+   * @param observer Told with an imageUpdate when missing tiles have been decoded, may be null
+   * @return True if all visible tiles were drawn, false if placeholders were drawn for some
+   */
+  public boolean draw(Graphics g, Rectangle target, Rectangle2D viewport, ImageObserver observer) {
+    if (target.isEmpty() || viewport.isEmpty()) {
+      return true;
+    }
+    double pixelsPerSourcePixel = target.width / viewport.getWidth();
+    int level = getLevel(1 / pixelsPerSourcePixel);
+    int tileSpan = TILE_SIZE << level; // source pixels covered by a tile
+    int firstColumn = (int) Math.max(0, Math.floor(viewport.getMinX() / tileSpan));
+    int lastColumn = (int) Math.min((size.width - 1) / tileSpan, viewport.getMaxX() / tileSpan);
+    int firstRow = (int) Math.max(0, Math.floor(viewport.getMinY() / tileSpan));
+    int lastRow = (int) Math.min((size.height - 1) / tileSpan, viewport.getMaxY() / tileSpan);
+
+    boolean complete = true;
+    Shape clip = g.getClip();
+    Color color = g.getColor();
+    g.clipRect(target.x, target.y, target.width, target.height);
+    try {
+      for (int row = firstRow; row <= lastRow; row++) {
+        for (int column = firstColumn; column <= lastColumn; column++) {
+          Tile tile = new Tile(level, column, row);
+          Rectangle region = tile.getSourceRegion(size);
+          int x = target.x + (int) Math.floor((region.x - viewport.getX()) * pixelsPerSourcePixel);
+          int y = target.y + (int) Math.floor((region.y - viewport.getY()) * pixelsPerSourcePixel);
+          int width =
+              target.x
+                  + (int) Math.ceil((region.getMaxX() - viewport.getX()) * pixelsPerSourcePixel)
+                  - x;
+          int height =
+              target.y
+                  + (int) Math.ceil((region.getMaxY() - viewport.getY()) * pixelsPerSourcePixel)
+                  - y;
+          BufferedImage image = getTile(tile, observer);
+          if (image != null) {
+            g.drawImage(image, x, y, width, height, null);
+          } else {
+            complete = false;
+            g.setColor(PLACEHOLDER);
+            g.fillRect(x, y, width, height);
+          }
+        }
+      }
+    } finally {
+      g.setClip(clip);
+      g.setColor(color);
+    }
+    return complete;
+  }
+
+  /** Tells whether tiles that were needed for drawing are still being decoded */
+  public synchronized boolean isLoading() {
+    return !requested.isEmpty();
+  }
+
+  /**
+   * Gives a future for the tiles that are being decoded now
+   *
+   * @return A future that completes when those tiles have been decoded or have failed
+   */
+  public synchronized CompletableFuture<Void> whenTilesDecoded() {
+    return CompletableFuture.allOf(requested.values().toArray(new CompletableFuture<?>[0]));
+  }
+
+  /**
+   * Gives the number of tiles put in the image cache, which may have dropped some to fit its budget
+   */
+  public synchronized int getCachedTileCount() {
+    return tiles.size();
+  }
+
+  /** Removes the cached tiles from the image cache, when the image is no longer drawn in tiles */
+  public synchronized void dispose() {
+    for (Tile tile : tiles.keySet()) {
+      cache.removeDerived(source, tile.getVariant());
+    }
+    tiles.clear();
+    disposed = true;
+  }
+
+  /** Gives the number of tiles decoded so far, including tiles that were evicted */
+  public synchronized long getDecodedTileCount() {
+    return decodedTiles;
+  }
+
+  /**
+   * Decodes one tile on the calling thread
+   *
+   * @param level The pyramid level
+   * @param column The column of the tile
+   * @param row The row of the tile
+   * @return The decoded tile, at most TILE_SIZE pixels wide and high
+   * @throws IOException If the image cannot be read
+   */
+  public BufferedImage readTile(int level, int column, int row) throws IOException {
+    Tile tile = new Tile(level, column, row);
+    try (InputStream in = source.openStream();
+        ImageInputStream imageIn = ImageIO.createImageInputStream(in)) {
+      if (imageIn == null) {
+        throw new IOException("Cannot read " + source);
+      }
+      Iterator<ImageReader> readers = ImageIO.getImageReaders(imageIn);
+      if (!readers.hasNext()) {
+        throw new IOException("Unsupported image format: " + source);
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(imageIn, true, true);
+        ImageReadParam param = reader.getDefaultReadParam();
+        param.setSourceRegion(tile.getSourceRegion(size));
+        int subsampling = 1 << level;
+        param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+        return reader.read(0, param);
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  // give a cached tile, or start decoding it
+  private BufferedImage getTile(Tile tile, ImageObserver observer) {
+    synchronized (this) {
+      if (tiles.get(tile) != null) {
+        BufferedImage image = cache.getDerived(source, tile.getVariant());
+        if (image != null) {
+          return image;
+        }
+        tiles.remove(tile); // dropped by the image cache, decoded again
+      }
+      if (failed.contains(tile)) {
+        return null; // not decoded again on every paint
+      }
+      if (observer != null) {
+        waitingObservers.add(observer);
+      }
+      if (requested.containsKey(tile)) {
+        return null; // already being decoded
+      }
+      requested.put(tile, new CompletableFuture<>());
+    }
+    ImageDecoder.submit(() -> readTile(tile.level, tile.column, tile.row))
+        .whenComplete((image, error) -> decoded(tile, image, error));
+    return null;
+  }
+
+  private void decoded(Tile tile, BufferedImage image, Throwable error) {
+    List<ImageObserver> observers;
+    CompletableFuture<Void> decoding;
+    synchronized (this) {
+      decoding = requested.remove(tile);
+      if (image != null) {
+        if (!disposed) {
+          cache.putDerived(source, tile.getVariant(), image);
+          tiles.put(tile, Boolean.TRUE);
+        }
+        decodedTiles++;
+      } else {
+        failed.add(tile);
+      }
+      observers = new ArrayList<>(waitingObservers);
+      if (requested.isEmpty()) {
+        waitingObservers.clear();
+      }
+    }
+    if (error != null) {
+      System.err.println("Tile of " + source + " could not be decoded: " + error.getMessage());
+    }
+    if (tileListener != null) {
+      tileListener.run();
+    }
+    decoding.complete(null);
+    for (ImageObserver observer : observers) {
+      observer.imageUpdate(null, ImageObserver.FRAMEBITS, 0, 0, size.width, size.height);
+    }
+  }
+
+  /** The position of a tile in the pyramid */
+  private static final class Tile {
+    private final int level;
+    private final int column;
+    private final int row;
+
+    Tile(int level, int column, int row) {
+      this.level = level;
+      this.column = column;
+      this.row = row;
+    }
+
+    // the source pixels covered by the tile
+    Rectangle getSourceRegion(Dimension size) {
+      int span = TILE_SIZE << level;
+      int x = column * span;
+      int y = row * span;
+      return new Rectangle(x, y, Math.min(span, size.width - x), Math.min(span, size.height - y));
+    }
+
+    // the name of the tile among the copies derived from the image in the image cache
+    String getVariant() {
+      return "tile " + level + "/" + column + "/" + row;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Tile)) {
+        return false;
+      }
+      Tile tile = (Tile) other;
+      return level == tile.level && column == tile.column && row == tile.row;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(level, column, row);
+    }
+  }
+}
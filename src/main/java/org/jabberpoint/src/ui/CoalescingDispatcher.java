@@ -0,0 +1,82 @@
+package org.jabberpoint.src.ui;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import org.jabberpoint.src.model.NotificationDispatcher;
+
+/**
+ * Notifies the observers of a presentation on the event dispatch thread, at most once per frame.
+ *
+ * <p>Holding a key that moves to the next slide changes the presentation faster than slides can be
+ * painted. The first change is delivered right away; changes that follow within the same frame are
+ * merged into one delivery at the start of the next frame, which shows the latest slide. Observers
+ * therefore never queue up renders of slides that have already been passed.
+ */
+public class CoalescingDispatcher implements NotificationDispatcher {
+  /** The default time between deliveries, one frame at 60 frames per second */
+  public static final int DEFAULT_INTERVAL_MS = 16;
+
+  private final int intervalMs;
+  private final AtomicReference<Runnable> pending = new AtomicReference<>();
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private final AtomicInteger dispatched = new AtomicInteger();
+  private final AtomicInteger delivered = new AtomicInteger();
+  private final Timer timer;
+  private long lastDelivery; // event dispatch thread only
+
+  /** Delivers at most once per frame at 60 frames per second */
+  public CoalescingDispatcher() {
+    this(DEFAULT_INTERVAL_MS);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param intervalMs The least time between two deliveries in milliseconds
+   */
+  public CoalescingDispatcher(int intervalMs) {
+    this.intervalMs = intervalMs;
+    this.timer = new Timer(intervalMs, event -> deliver());
+    timer.setRepeats(false);
+    this.lastDelivery = System.nanoTime() - intervalMs * 1_000_000L;
+  }
+
+  @Override
+  public void dispatch(Runnable delivery) {
+    dispatched.incrementAndGet();
+    pending.set(delivery);
+    if (scheduled.compareAndSet(false, true)) {
+      SwingUtilities.invokeLater(this::deliver);
+    }
+  }
+
+  /** Gives the number of notifications asked for */
+  public int getDispatchedCount() {
+    return dispatched.get();
+  }
+
+  /** Gives the number of notifications that reached the observers */
+  public int getDeliveredCount() {
+    return delivered.get();
+  }
+
+  // deliver the latest notification if a frame has passed, otherwise wait for the next frame
+  private void deliver() {
+    long waitMs = intervalMs - (System.nanoTime() - lastDelivery) / 1_000_000L;
+    if (waitMs > 0) {
+      timer.setInitialDelay((int) waitMs);
+      timer.restart();
+      return;
+    }
+    scheduled.set(false); // later dispatches schedule a new delivery
+    Runnable delivery = pending.getAndSet(null);
+    if (delivery != null) {
+      lastDelivery = System.nanoTime();
+      delivered.incrementAndGet();
+      delivery.run();
+    }
+  }
+}
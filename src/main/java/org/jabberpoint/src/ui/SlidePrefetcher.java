@@ -0,0 +1,223 @@
+package org.jabberpoint.src.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jabberpoint.src.model.BitmapItem;
+import org.jabberpoint.src.model.Presentation;
+import org.jabberpoint.src.model.PresentationChangeObserver;
+import org.jabberpoint.src.model.PresentationEvent;
+import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.model.SlideItem;
+
+/**
+ * Renders the slides around the current slide on a background thread.
+ *
+ * <p>Whenever the presentation reports a change, the slides within the window before and after the
+ * current slide are rendered into the {@link SlideRenderCache} at the size the viewer last painted,
+ * so moving to the next or previous slide only needs to blit a prepared image. Renders that were
+ * scheduled for an earlier slide are skipped once the current slide has changed again. The images
+ * of a slide are decoded first, and the slide is rendered once they all are, so image-heavy
+ * neighbours do not have to be rendered by the viewer either.
+ */
+public class SlidePrefetcher implements PresentationChangeObserver {
+  /** The default number of slides rendered on each side of the current slide */
+  public static final int DEFAULT_WINDOW = 1;
+
+  private final SlideRenderCache cache;
+  private final ExecutorService executor =
+      Executors.newSingleThreadExecutor(
+          task -> {
+            Thread thread = new Thread(task, "slide-prefetcher");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+          });
+  private final AtomicLong generation = new AtomicLong();
+  private final AtomicLong rendered = new AtomicLong();
+  private Presentation presentation;
+  private volatile int window;
+  private int width = 0;
+  private int height = 0;
+  private double pixelScale = 1.0;
+
+  public SlidePrefetcher(SlideRenderCache cache) {
+    this(cache, DEFAULT_WINDOW);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param cache The cache the rendered slides are put into
+   * @param window The number of slides to render on each side of the current slide
+   */
+  public SlidePrefetcher(SlideRenderCache cache, int window) {
+    this.cache = cache;
+    setWindow(window);
+  }
+
+  public int getWindow() {
+    return window;
+  }
+
+  public void setWindow(int window) {
+    if (window < 0) {
+      throw new IllegalArgumentException("Window cannot be negative: " + window);
+    }
+    this.window = window;
+  }
+
+  /**
+   * Sets the size slides are rendered at, and renders the neighbours again when it changed
+   *
+   * @param width The width in pixels
+   * @param height The height in pixels
+   * @param pixelScale The number of pixels per unit of the slide area
+   */
+  public synchronized void setTarget(int width, int height, double pixelScale) {
+    if (width == this.width && height == this.height && pixelScale == this.pixelScale) {
+      return;
+    }
+    this.width = width;
+    this.height = height;
+    this.pixelScale = pixelScale;
+    if (presentation != null) {
+      prefetch(presentation);
+    }
+  }
+
+  /** Renders the neighbours of the current slide of the presentation */
+  @Override
+  public void update(Presentation presentation, Slide slide) {
+    prefetch(presentation);
+  }
+
+  /** Renders the neighbours again unless only the title changed */
+  @Override
+  public void presentationChanged(Presentation presentation, PresentationEvent event) {
+    if (event.getType() != PresentationEvent.Type.TITLE_CHANGED) {
+      prefetch(presentation);
+    }
+  }
+
+  /**
+   * Schedules the neighbours of the current slide for rendering
+   *
+   * <p>The slides are looked up on the calling thread, nearest first, and only rendered on the
+   * background thread.
+   *
+   * @param presentation The presentation whose current slide is the centre of the window
+   */
+  public synchronized void prefetch(Presentation presentation) {
+    this.presentation = presentation;
+    long current = generation.incrementAndGet();
+    int center = presentation.getSlideNumber();
+    if (center < 0 || width <= 0 || height <= 0 || executor.isShutdown()) {
+      return;
+    }
+    for (int distance = 1; distance <= window; distance++) {
+      schedule(current, presentation, center + distance);
+      schedule(current, presentation, center - distance);
+    }
+  }
+
+  /** Gives the number of slides rendered in the background so far */
+  public long getRenderedCount() {
+    return rendered.get();
+  }
+
+  /** Stops the background thread; pending renders are dropped */
+  public void shutdown() {
+    generation.incrementAndGet();
+    executor.shutdownNow();
+  }
+
+  private void schedule(long scheduledGeneration, Presentation presentation, int slideNumber) {
+    if (slideNumber < 0 || slideNumber >= presentation.getSize()) {
+      return;
+    }
+    Slide slide = presentation.getSlide(slideNumber);
+    if (slide == null || cache.contains(slideNumber, slide, width, height)) {
+      return;
+    }
+    int targetWidth = width;
+    int targetHeight = height;
+    double targetScale = pixelScale;
+    executor.execute(
+        () ->
+            render(
+                scheduledGeneration,
+                slideNumber,
+                slide,
+                targetWidth,
+                targetHeight,
+                targetScale,
+                true));
+  }
+
+  // render a slide into the cache, or first wait until its images have been decoded
+  private void render(
+      long scheduledGeneration,
+      int slideNumber,
+      Slide slide,
+      int targetWidth,
+      int targetHeight,
+      double targetScale,
+      boolean mayWait) {
+    if (generation.get() != scheduledGeneration) {
+      return; // the current slide has changed meanwhile
+    }
+    CompletableFuture<Void> images = startLoadingImages(slide);
+    if (!images.isDone()) {
+      if (mayWait) {
+        images.whenComplete(
+            (done, error) -> {
+              if (!executor.isShutdown() && generation.get() == scheduledGeneration) {
+                executor.execute(
+                    () ->
+                        render(
+                            scheduledGeneration,
+                            slideNumber,
+                            slide,
+                            targetWidth,
+                            targetHeight,
+                            targetScale,
+                            false));
+              }
+            });
+      }
+      return;
+    }
+    int revision = slide.getRevision();
+    if (slide.isLoading()) {
+      return; // e.g. tiles of a zoomed image, the viewer renders it when it is shown
+    }
+    try {
+      cache.put(
+          slideNumber,
+          slide,
+          revision,
+          SlideRenderCache.renderSlide(slide, targetWidth, targetHeight, targetScale, null));
+      rendered.incrementAndGet();
+    } catch (RuntimeException x) {
+      System.err.println("Could not render slide " + slideNumber + ": " + x);
+    }
+  }
+
+  // start decoding the images of a slide, completing when all of them are decoded or failed
+  private static CompletableFuture<Void> startLoadingImages(Slide slide) {
+    List<CompletableFuture<?>> images = new ArrayList<>();
+    List<SlideItem> items = slide.getSlideItems();
+    if (items != null) {
+      for (SlideItem item : items) {
+        if (item instanceof BitmapItem) {
+          images.add(((BitmapItem) item).startLoading());
+        }
+      }
+    }
+    return CompletableFuture.allOf(images.toArray(new CompletableFuture<?>[0]));
+  }
+}
@@ -0,0 +1,289 @@
+package org.jabberpoint.src.ui;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.model.TextRenderContext;
+
+/**
+ * Cache of fully rendered slides.
+ *
+ * <p>Images are kept per slide number and pixel size within a budget of bytes; when the budget is
+ * exceeded the least recently used images are dropped. Repainting a slide that is in the cache is a
+ * single image blit instead of drawing all of its items again. The cache can be used from several
+ * threads.
+ */
+public class SlideRenderCache {
+  /** The default budget, enough for about a dozen full HD slides */
+  public static final long DEFAULT_BUDGET = 96L * 1024 * 1024;
+
+  private static final Color BGCOLOR = Color.white;
+  private static final int BYTES_PER_PIXEL = 4;
+
+  private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long budget;
+  private long usedBytes = 0;
+  private long hits = 0;
+  private long misses = 0;
+
+  public SlideRenderCache() {
+    this(DEFAULT_BUDGET);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param budget The maximum number of bytes of all cached images together
+   */
+  public SlideRenderCache(long budget) {
+    setBudget(budget);
+  }
+
+  /**
+   * Gives the rendered slide, rendering and caching it if needed
+   *
+   * @param slideNumber The number of the slide in the presentation
+   * @param slide The slide itself; a different slide with the same number is rendered again
+   * @param width The width in pixels
+   * @param height The height in pixels
+   * @param pixelScale The number of pixels per unit of the slide area, above 1 for HiDPI screens
+   * @param observer The observer for the images on the slide, told when a loading image is ready
+   * @return An image of width x height pixels with the slide on a white background
+   */
+  public BufferedImage render(
+      int slideNumber,
+      Slide slide,
+      int width,
+      int height,
+      double pixelScale,
+      ImageObserver observer) {
+    BufferedImage image = get(slideNumber, slide, width, height);
+    if (image == null) {
+      // Slides with placeholders for images that are still loading are drawn again later
+      int revision = slide.getRevision();
+      boolean complete = !slide.isLoading();
+      image = renderSlide(slide, width, height, pixelScale, observer);
+      if (complete) {
+        put(slideNumber, slide, revision, image);
+      }
+    }
+    return image;
+  }
+
+  /**
+   * Gives a cached image
+   *
+   * @param slideNumber The number of the slide in the presentation
+   * @param slide The slide the image must have been rendered from
+   * @param width The width in pixels
+   * @param height The height in pixels
+   * @return The cached image, or null if there is none
+   */
+  public synchronized BufferedImage get(int slideNumber, Slide slide, int width, int height) {
+    Entry entry = entries.get(new Key(slideNumber, width, height));
+    if (entry == null || !entry.isFor(slide)) {
+      misses++;
+      return null;
+    }
+    hits++;
+    return entry.image;
+  }
+
+  /**
+   * Tells whether an image is cached, without counting it as a hit or miss
+   *
+   * @param slideNumber The number of the slide in the presentation
+   * @param slide The slide the image must have been rendered from
+   * @param width The width in pixels
+   * @param height The height in pixels
+   * @return True if get would give an image
+   */
+  public synchronized boolean contains(int slideNumber, Slide slide, int width, int height) {
+    Entry entry = entries.get(new Key(slideNumber, width, height));
+    return entry != null && entry.isFor(slide);
+  }
+
+  /**
+   * Adds a rendered image, unless it is larger than the whole budget
+   *
+   * @param slideNumber The number of the slide in the presentation
+   * @param slide The slide the image was rendered from
+   * @param image The rendered image
+   */
+  public void put(int slideNumber, Slide slide, BufferedImage image) {
+    put(slideNumber, slide, slide.getRevision(), image);
+  }
+
+  /**
+   * Adds a rendered image, unless it is larger than the whole budget
+   *
+   * @param slideNumber The number of the slide in the presentation
+   * @param slide The slide the image was rendered from
+   * @param revision The revision of the slide read before rendering, see {@link Slide#getRevision}
+   * @param image The rendered image
+   */
+  public synchronized void put(int slideNumber, Slide slide, int revision, BufferedImage image) {
+    long size = sizeOf(image);
+    if (size > budget) {
+      return;
+    }
+    Entry previous =
+        entries.put(
+            new Key(slideNumber, image.getWidth(), image.getHeight()),
+            new Entry(slide, revision, image));
+    if (previous != null) {
+      usedBytes -= sizeOf(previous.image);
+    }
+    usedBytes += size;
+    evict();
+  }
+
+  /**
+   * Drops the cached images of a range of slides, e.g. when slides were inserted before them
+   *
+   * @param first The number of the first slide
+   * @param last The number of the last slide
+   */
+  public synchronized void invalidate(int first, int last) {
+    Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<Key, Entry> entry = iterator.next();
+      int slideNumber = entry.getKey().slideNumber;
+      if (slideNumber >= first && slideNumber <= last) {
+        usedBytes -= sizeOf(entry.getValue().image);
+        iterator.remove();
+      }
+    }
+  }
+
+  /** Drops all cached images, e.g. when the slides were edited */
+  public synchronized void clear() {
+    entries.clear();
+    usedBytes = 0;
+  }
+
+  public synchronized long getBudget() {
+    return budget;
+  }
+
+  /**
+   * Changes the budget, dropping images if the cache is now too large
+   *
+   * @param budget The maximum number of bytes of all cached images together
+   */
+  public synchronized void setBudget(long budget) {
+    if (budget < 0) {
+      throw new IllegalArgumentException("Budget cannot be negative: " + budget);
+    }
+    this.budget = budget;
+    evict();
+  }
+
+  public synchronized long getUsedBytes() {
+    return usedBytes;
+  }
+
+  public synchronized int getImageCount() {
+    return entries.size();
+  }
+
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Renders a slide into a new image
+   *
+   * @param slide The slide to render
+   * @param width The width in pixels
+   * @param height The height in pixels
+   * @param pixelScale The number of pixels per unit of the slide area, above 1 for HiDPI screens
+   * @param observer The observer for the images on the slide
+   * @return The rendered image
+   */
+  public static BufferedImage renderSlide(
+      Slide slide, int width, int height, double pixelScale, ImageObserver observer) {
+    BufferedImage image =
+        new BufferedImage(Math.max(1, width), Math.max(1, height), BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = image.createGraphics();
+    try {
+      g.setColor(BGCOLOR);
+      g.fillRect(0, 0, image.getWidth(), image.getHeight());
+      TextRenderContext.applyTo(g); // text is painted as it was measured
+      g.scale(pixelScale, pixelScale);
+      Rectangle area = new Rectangle(0, 0, (int) (width / pixelScale), (int) (height / pixelScale));
+      slide.draw(g, area, observer);
+    } finally {
+      g.dispose();
+    }
+    return image;
+  }
+
+  private void evict() {
+    Iterator<Entry> leastRecentlyUsed = entries.values().iterator();
+    while (usedBytes > budget && leastRecentlyUsed.hasNext()) {
+      usedBytes -= sizeOf(leastRecentlyUsed.next().image);
+      leastRecentlyUsed.remove();
+    }
+  }
+
+  private static long sizeOf(BufferedImage image) {
+    return (long) image.getWidth() * image.getHeight() * BYTES_PER_PIXEL;
+  }
+
+  /** The slide number and pixel size an image was rendered for */
+  private static final class Key {
+    private final int slideNumber;
+    private final int width;
+    private final int height;
+
+    Key(int slideNumber, int width, int height) {
+      this.slideNumber = slideNumber;
+      this.width = width;
+      this.height = height;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) other;
+      return slideNumber == key.slideNumber && width == key.width && height == key.height;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(slideNumber, width, height);
+    }
+  }
+
+  /** A rendered image and the slide and revision it was rendered from */
+  private static final class Entry {
+    private final Slide slide;
+    private final int revision;
+    private final BufferedImage image;
+
+    Entry(Slide slide, int revision, BufferedImage image) {
+      this.slide = slide;
+      this.revision = revision;
+      this.image = image;
+    }
+
+    // the image still shows the slide as it looks now, e.g. not before an image was zoomed
+    boolean isFor(Slide other) {
+      return slide == other && revision == other.getRevision();
+    }
+  }
+}
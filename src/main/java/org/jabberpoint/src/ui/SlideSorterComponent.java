@@ -0,0 +1,284 @@
+package org.jabberpoint.src.ui;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.image.BufferedImage;
+import java.util.HashSet;
+import java.util.Set;
+import javax.swing.AbstractListModel;
+import javax.swing.JComponent;
+import javax.swing.JFrame;
+import javax.swing.JList;
+import javax.swing.JScrollPane;
+import javax.swing.ListCellRenderer;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
+import org.jabberpoint.src.model.Presentation;
+import org.jabberpoint.src.model.PresentationChangeObserver;
+import org.jabberpoint.src.model.PresentationEvent;
+import org.jabberpoint.src.model.Slide;
+
+/**
+ * An overview of the slides of a presentation as thumbnails, for finding and choosing a slide.
+ *
+ * <p>The list is virtual: all cells have the same fixed size, so its size is known without looking
+ * at any slide, and only the cells in the visible part are painted, by one renderer component that
+ * is reused for every cell. Thumbnails are asked from a {@link ThumbnailService} in the background;
+ * until one is ready a placeholder is painted, and requests for cells that were scrolled out of
+ * view before their turn are skipped. Decks of tens of thousands of slides therefore scroll as
+ * smoothly as small ones.
+ *
+ * <p>Choosing a thumbnail shows that slide; moving to another slide selects its thumbnail.
+ */
+public class SlideSorterComponent extends JList<Integer> implements PresentationChangeObserver {
+  private static final long serialVersionUID = 1L;
+
+  private static final int GAP = 8; // around each thumbnail
+  private static final int LABEL_HEIGHT = 16;
+  private static final Color PLACEHOLDER = new Color(230, 230, 230);
+  private static final Color SELECTION = new Color(51, 153, 255);
+  private static final Font LABELFONT = new Font("Dialog", Font.PLAIN, 11);
+
+  private final transient Presentation presentation;
+  private final transient ThumbnailService thumbnails;
+  private final SlideListModel slides;
+  private final Set<Integer> pending = new HashSet<>(); // thumbnails requested, EDT only
+  private volatile int firstVisible = -1;
+  private volatile int lastVisible = -1;
+  private boolean following = false; // the selection follows the presentation
+
+  /**
+   * Constructor
+   *
+   * @param presentation The presentation whose slides are shown
+   * @param thumbnails The service that makes the thumbnails
+   */
+  public SlideSorterComponent(Presentation presentation, ThumbnailService thumbnails) {
+    this(presentation, thumbnails, new SlideListModel(presentation));
+  }
+
+  private SlideSorterComponent(
+      Presentation presentation, ThumbnailService thumbnails, SlideListModel slides) {
+    super(slides);
+    this.presentation = presentation;
+    this.thumbnails = thumbnails;
+    this.slides = slides;
+    int width = thumbnails.getWidth();
+    int height = width * Slide.HEIGHT / Slide.WIDTH;
+    setLayoutOrientation(JList.HORIZONTAL_WRAP);
+    setVisibleRowCount(-1);
+    setFixedCellWidth(width + 2 * GAP);
+    setFixedCellHeight(height + 2 * GAP + LABEL_HEIGHT);
+    setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+    setCellRenderer(new ThumbnailCell(width, height));
+    addListSelectionListener(
+        event -> {
+          int selected = getSelectedIndex();
+          if (!event.getValueIsAdjusting()
+              && !following
+              && selected >= 0
+              && selected != presentation.getSlideNumber()) {
+            presentation.setSlideNumber(selected);
+          }
+        });
+  }
+
+  /**
+   * Opens an overview of a presentation in its own window
+   *
+   * @param presentation The presentation
+   * @return The window
+   */
+  public static JFrame showWindow(Presentation presentation) {
+    ThumbnailService thumbnails = new ThumbnailService();
+    SlideSorterComponent sorter = new SlideSorterComponent(presentation, thumbnails);
+    presentation.addObserver(sorter);
+    JFrame frame = new JFrame("Slide sorter");
+    frame.getContentPane().add(new JScrollPane(sorter), BorderLayout.CENTER);
+    frame.addWindowListener(
+        new WindowAdapter() {
+          public void windowClosed(WindowEvent e) {
+            presentation.removeObserver(sorter);
+            thumbnails.shutdown();
+          }
+        });
+    frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+    frame.setSize(new Dimension(800, 600));
+    sorter.update(presentation, presentation.getCurrentSlide());
+    frame.setVisible(true);
+    return frame;
+  }
+
+  /** Follows the presentation: new slides are added and the current slide is selected */
+  @Override
+  public void update(Presentation presentation, Slide slide) {
+    if (!SwingUtilities.isEventDispatchThread()) {
+      SwingUtilities.invokeLater(() -> update(presentation, slide));
+      return;
+    }
+    slides.refresh();
+    int current = presentation.getSlideNumber();
+    following = true;
+    try {
+      if (current >= 0 && current < slides.getSize()) {
+        setSelectedIndex(current);
+        ensureIndexIsVisible(current);
+      } else {
+        clearSelection();
+      }
+    } finally {
+      following = false;
+    }
+    repaint(); // edited slides get new thumbnails
+  }
+
+  /** Repaints only the changed thumbnails when slides were edited, ignores the title */
+  @Override
+  public void presentationChanged(Presentation presentation, PresentationEvent event) {
+    if (event.getType() == PresentationEvent.Type.TITLE_CHANGED) {
+      return;
+    }
+    if (event.getType() != PresentationEvent.Type.SLIDES_CHANGED) {
+      update(presentation, presentation.getCurrentSlide());
+      return;
+    }
+    SwingUtilities.invokeLater(
+        () -> {
+          int last = Math.min(event.getLast(), slides.getSize() - 1);
+          Rectangle cells = event.getFirst() <= last ? getCellBounds(event.getFirst(), last) : null;
+          if (cells != null) {
+            repaint(cells);
+          }
+        });
+  }
+
+  @Override
+  protected void paintComponent(Graphics g) {
+    // remember which cells are visible, for skipping requests of cells scrolled out of view
+    firstVisible = getFirstVisibleIndex();
+    lastVisible = getLastVisibleIndex();
+    super.paintComponent(g);
+  }
+
+  /** Gives the number of thumbnails that have been requested but are not ready yet */
+  public int getPendingCount() {
+    return pending.size();
+  }
+
+  // give the thumbnail of a slide if it is ready, otherwise request it
+  private BufferedImage getThumbnail(int slideNumber) {
+    Slide slide = presentation.getSlide(slideNumber);
+    if (slide == null) {
+      return null;
+    }
+    BufferedImage thumbnail = thumbnails.getCached(slide);
+    if (thumbnail == null && pending.add(slideNumber)) {
+      thumbnails
+          .request(slide, () -> slideNumber >= firstVisible && slideNumber <= lastVisible)
+          .whenComplete(
+              (image, error) ->
+                  SwingUtilities.invokeLater(
+                      () -> {
+                        pending.remove(slideNumber);
+                        if (error != null) {
+                          System.err.println(
+                              "No thumbnail for slide " + slideNumber + ": " + error.getMessage());
+                        } else if (image != null && slideNumber < slides.getSize()) {
+                          Rectangle cell = getCellBounds(slideNumber, slideNumber);
+                          if (cell != null) {
+                            repaint(cell);
+                          }
+                        }
+                      }));
+    }
+    return thumbnail;
+  }
+
+  /** The slide numbers of a presentation, without looking at the slides */
+  private static final class SlideListModel extends AbstractListModel<Integer> {
+    private static final long serialVersionUID = 1L;
+
+    private final transient Presentation presentation;
+    private int size;
+
+    SlideListModel(Presentation presentation) {
+      this.presentation = presentation;
+      this.size = Math.max(0, presentation.getSize());
+    }
+
+    @Override
+    public int getSize() {
+      return size;
+    }
+
+    @Override
+    public Integer getElementAt(int index) {
+      return index;
+    }
+
+    // tell the list about slides that were added or removed
+    void refresh() {
+      int newSize = Math.max(0, presentation.getSize());
+      int oldSize = size;
+      size = newSize;
+      if (newSize > oldSize) {
+        fireIntervalAdded(this, oldSize, newSize - 1);
+      } else if (newSize < oldSize) {
+        fireIntervalRemoved(this, newSize, oldSize - 1);
+      }
+    }
+  }
+
+  /** Paints one cell: the thumbnail, or a placeholder, and the slide number */
+  private final class ThumbnailCell extends JComponent implements ListCellRenderer<Integer> {
+    private static final long serialVersionUID = 1L;
+
+    private final int thumbnailWidth;
+    private final int thumbnailHeight;
+    private int slideNumber;
+    private transient BufferedImage thumbnail;
+    private boolean selected;
+
+    ThumbnailCell(int thumbnailWidth, int thumbnailHeight) {
+      this.thumbnailWidth = thumbnailWidth;
+      this.thumbnailHeight = thumbnailHeight;
+    }
+
+    @Override
+    public Component getListCellRendererComponent(
+        JList<? extends Integer> list,
+        Integer value,
+        int index,
+        boolean isSelected,
+        boolean cellHasFocus) {
+      slideNumber = value;
+      selected = isSelected;
+      thumbnail = getThumbnail(value);
+      return this;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+      if (selected) {
+        g.setColor(SELECTION);
+        g.fillRect(GAP / 2, GAP / 2, thumbnailWidth + GAP, thumbnailHeight + GAP);
+      }
+      if (thumbnail != null) {
+        g.drawImage(thumbnail, GAP, GAP, thumbnailWidth, thumbnailHeight, null);
+      } else {
+        g.setColor(PLACEHOLDER);
+        g.fillRect(GAP, GAP, thumbnailWidth, thumbnailHeight);
+      }
+      g.setColor(Color.BLACK);
+      g.setFont(LABELFONT);
+      g.drawString(String.valueOf(slideNumber + 1), GAP, GAP + thumbnailHeight + LABEL_HEIGHT - 2);
+    }
+  }
+}
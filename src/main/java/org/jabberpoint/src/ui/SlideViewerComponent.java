@@ -4,11 +4,14 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
 import javax.swing.JComponent;
 import javax.swing.JFrame;
 import org.jabberpoint.src.model.Presentation;
-import org.jabberpoint.src.model.PresentationObserver;
+import org.jabberpoint.src.model.PresentationChangeObserver;
+import org.jabberpoint.src.model.PresentationEvent;
 import org.jabberpoint.src.model.Slide;
 
 /**
@@ -22,12 +25,14 @@ import org.jabberpoint.src.model.Slide;
  * @version 1.5 2010/03/03 Sylvia Stuurman
  * @version 1.6 2014/05/16 Sylvia Stuurman
  */
-public class SlideViewerComponent extends JComponent implements PresentationObserver {
+public class SlideViewerComponent extends JComponent implements PresentationChangeObserver {
 
   private Slide slide; // current slide
   private Font labelFont = null; // font for labels
   private Presentation presentation = null; // the presentation
   private JFrame frame = null;
+  private final transient SlideRenderCache renderCache = new SlideRenderCache();
+  private final transient SlidePrefetcher prefetcher = new SlidePrefetcher(renderCache);
 
   private static final long serialVersionUID = 227L;
 
@@ -47,12 +52,23 @@ public class SlideViewerComponent extends JComponent implements PresentationObse
 
     // Register as an observer
     presentation.addObserver(this);
+    presentation.addObserver(prefetcher);
   }
 
   public Dimension getPreferredSize() {
     return new Dimension(Slide.WIDTH, Slide.HEIGHT);
   }
 
+  /** Gives the cache of rendered slides, e.g. to change its budget */
+  public SlideRenderCache getRenderCache() {
+    return renderCache;
+  }
+
+  /** Gives the renderer of the neighbouring slides, e.g. to change its window */
+  public SlidePrefetcher getPrefetcher() {
+    return prefetcher;
+  }
+
   public void update(Presentation presentation, Slide slide) {
     if (slide == null) {
       repaint();
@@ -63,6 +79,26 @@ public class SlideViewerComponent extends JComponent implements PresentationObse
     frame.setTitle(presentation.getTitle());
   }
 
+  /** Repaints for changes that can be seen and drops the rendered images they make stale */
+  @Override
+  public void presentationChanged(Presentation presentation, PresentationEvent event) {
+    switch (event.getType()) {
+      case TITLE_CHANGED:
+        frame.setTitle(presentation.getTitle());
+        return;
+      case SLIDES_CHANGED:
+        renderCache.invalidate(event.getFirst(), event.getLast());
+        break;
+      case SLIDES_INSERTED:
+      case SLIDES_REMOVED:
+        renderCache.invalidate(event.getFirst(), Integer.MAX_VALUE); // later slides moved
+        break;
+      default:
+        break;
+    }
+    update(presentation, presentation.getCurrentSlide());
+  }
+
   // Draw the slide
   public void paintComponent(Graphics g) {
     g.setColor(BGCOLOR);
@@ -77,6 +113,20 @@ public class SlideViewerComponent extends JComponent implements PresentationObse
         XPOS,
         YPOS);
     Rectangle area = new Rectangle(0, YPOS, getWidth(), (getHeight() - YPOS));
-    slide.draw(g, area, this);
+    if (area.isEmpty()) {
+      slide.draw(g, area, this);
+      return;
+    }
+    // Render at device resolution so cached slides stay sharp on scaled screens
+    double pixelScale = 1.0;
+    if (g instanceof Graphics2D) {
+      pixelScale = Math.max(1.0, ((Graphics2D) g).getTransform().getScaleX());
+    }
+    int width = (int) Math.ceil(area.width * pixelScale);
+    int height = (int) Math.ceil(area.height * pixelScale);
+    BufferedImage image =
+        renderCache.render(presentation.getSlideNumber(), slide, width, height, pixelScale, this);
+    prefetcher.setTarget(width, height, pixelScale);
+    g.drawImage(image, area.x, area.y, area.width, area.height, this);
   }
 }
@@ -28,6 +28,7 @@ public class SlideViewerFrame extends JFrame {
 
   public SlideViewerFrame(String title, Presentation presentation) {
     super(title);
+    presentation.setNotificationDispatcher(new CoalescingDispatcher()); // one repaint per frame
     SlideViewerComponent slideViewerComponent = new SlideViewerComponent(presentation, this);
     setupWindow(slideViewerComponent, presentation);
   }
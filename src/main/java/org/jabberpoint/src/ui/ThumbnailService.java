@@ -0,0 +1,365 @@
+package org.jabberpoint.src.ui;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import javax.imageio.ImageIO;
+import org.jabberpoint.src.io.SlideExporter;
+import org.jabberpoint.src.model.BitmapItem;
+import org.jabberpoint.src.model.ImageCache;
+import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.model.SlideItem;
+import org.jabberpoint.src.model.Style;
+import org.jabberpoint.src.model.TextItem;
+import org.jabberpoint.src.model.TextRenderContext;
+
+/**
+ * Gives small images of slides, e.g. for a slide sorter, kept on disk between runs.
+ *
+ * <p>Every thumbnail is stored as a PNG file named after a hash of everything it shows: the title,
+ * the text and level of every item, the location, size and modification time of every image, the
+ * styles, the text hints and the width of the thumbnail. Unchanged slides are therefore read from
+ * disk, also after a restart, and an edited slide gets a new hash and is rendered again. Recently
+ * used thumbnails are also kept in memory by slide and revision of the slide, so that a view can
+ * look them up while it paints without hashing the slide. Hashes are made and thumbnails rendered
+ * on background threads.
+ *
+ * <p>Slides are rendered from copies whose images are decoded for the size of the thumbnail into a
+ * small image cache of the service, so making thumbnails neither decodes images at full size nor
+ * pushes the images of the shown slides out of the shared {@link ImageCache}. The files on disk are
+ * kept within a number of bytes; when they grow past it the least recently used ones are deleted.
+ *
+ * <p>The directory defaults to {@code .jabberpoint/thumbnails} in the home directory and can be set
+ * with the system property {@value #DIRECTORY_PROPERTY}.
+ */
+public class ThumbnailService {
+  /** The default width of thumbnails in pixels */
+  public static final int DEFAULT_WIDTH = 240;
+
+  /** The system property with the directory of the thumbnails */
+  public static final String DIRECTORY_PROPERTY = "jabberpoint.thumbnailDir";
+
+  /** The default number of bytes the thumbnails on disk may take together */
+  public static final long DEFAULT_MAX_DISK_BYTES = 64L * 1024 * 1024;
+
+  private static final int MAX_CACHED_THUMBNAILS = 256;
+  private static final long IMAGE_BUDGET = 16L * 1024 * 1024; // images decoded for thumbnails
+
+  private final File directory;
+  private final SlideExporter renderer;
+  private final int width;
+  private final long maxDiskBytes;
+  private final ImageCache images = new ImageCache(IMAGE_BUDGET);
+  private final Object diskLock = new Object();
+  private long diskBytes = -1; // the bytes of the stored thumbnails, -1 until counted
+  private final Map<Slide, Thumbnail> thumbnails = new LinkedHashMap<>(16, 0.75f, true);
+  private final AtomicInteger rendered = new AtomicInteger();
+  private final AtomicInteger readFromDisk = new AtomicInteger();
+  private final ExecutorService executor =
+      Executors.newFixedThreadPool(
+          2,
+          task -> {
+            Thread thread = new Thread(task, "thumbnail-renderer");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+          });
+
+  /** Keeps thumbnails of the default width in the default directory */
+  public ThumbnailService() {
+    this(defaultDirectory(), DEFAULT_WIDTH);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param directory The directory the thumbnails are stored in, created when needed
+   * @param width The width of the thumbnails in pixels
+   */
+  public ThumbnailService(File directory, int width) {
+    this(directory, width, DEFAULT_MAX_DISK_BYTES);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param directory The directory the thumbnails are stored in, created when needed
+   * @param width The width of the thumbnails in pixels
+   * @param maxDiskBytes The number of bytes the stored thumbnails may take together
+   */
+  public ThumbnailService(File directory, int width, long maxDiskBytes) {
+    this.directory = directory;
+    this.width = width;
+    this.maxDiskBytes = maxDiskBytes;
+    this.renderer = new SlideExporter(ForkJoinPool.commonPool(), width);
+  }
+
+  /**
+   * Gives the thumbnail of a slide in the background
+   *
+   * @param slide The slide
+   * @return A future that completes with the thumbnail, right away if it is in memory
+   */
+  public CompletableFuture<BufferedImage> request(Slide slide) {
+    return request(slide, () -> true);
+  }
+
+  /**
+   * Gives the thumbnail of a slide in the background, unless it is no longer wanted by then
+   *
+   * @param slide The slide
+   * @param wanted Asked on the rendering thread just before the thumbnail is made, e.g. whether the
+   *     slide is still visible
+   * @return A future that completes with the thumbnail, or with null if it was no longer wanted
+   */
+  public CompletableFuture<BufferedImage> request(Slide slide, BooleanSupplier wanted) {
+    BufferedImage cached = getCached(slide);
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
+    }
+    return CompletableFuture.supplyAsync(
+        () -> {
+          if (!wanted.getAsBoolean()) {
+            return null;
+          }
+          try {
+            return getThumbnail(slide);
+          } catch (IOException x) {
+            throw new UncheckedIOException(x);
+          }
+        },
+        executor);
+  }
+
+  /**
+   * Gives the thumbnail of a slide on the calling thread, rendering it if it is not stored
+   *
+   * @param slide The slide
+   * @return The thumbnail
+   * @throws IOException If a stored thumbnail cannot be read or a new one cannot be written
+   */
+  public BufferedImage getThumbnail(Slide slide) throws IOException {
+    BufferedImage thumbnail = getCached(slide);
+    if (thumbnail != null) {
+      return thumbnail;
+    }
+    int revision = slide.getRevision(); // before reading the content the hash is made of
+    String key = getKey(slide, width);
+    File file = new File(directory, key + ".png");
+    if (file.isFile()) {
+      thumbnail = ImageIO.read(file);
+      if (thumbnail != null) {
+        readFromDisk.incrementAndGet();
+        file.setLastModified(System.currentTimeMillis()); // recently used, deleted last
+        return cache(slide, revision, thumbnail);
+      }
+    }
+    thumbnail = renderer.render(copyForThumbnail(slide));
+    rendered.incrementAndGet();
+    store(file, thumbnail);
+    return cache(slide, revision, thumbnail);
+  }
+
+  /**
+   * Gives the thumbnail of a slide if it is in memory, cheap enough to be asked while painting
+   *
+   * @param slide The slide
+   * @return The thumbnail of the slide as it is now, or null if there is none in memory
+   */
+  public synchronized BufferedImage getCached(Slide slide) {
+    Thumbnail thumbnail = thumbnails.get(slide);
+    if (thumbnail == null || thumbnail.revision != slide.getRevision()) {
+      return null;
+    }
+    return thumbnail.image;
+  }
+
+  public File getDirectory() {
+    return directory;
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  /** Gives the number of thumbnails rendered, as opposed to read from disk or memory */
+  public int getRenderedCount() {
+    return rendered.get();
+  }
+
+  /** Gives the number of thumbnails read from disk */
+  public int getReadFromDiskCount() {
+    return readFromDisk.get();
+  }
+
+  /** Gives the images decoded for thumbnails, apart from the shared image cache */
+  public ImageCache getImageCache() {
+    return images;
+  }
+
+  /** Stops the rendering threads */
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Gives the hash of everything a thumbnail of a slide shows
+   *
+   * @param slide The slide
+   * @param width The width of the thumbnail
+   * @return The hash as hexadecimal digits
+   */
+  public static String getKey(Slide slide, int width) {
+    StringBuilder content = new StringBuilder();
+    content.append(width).append('|').append(TextRenderContext.get().isAntiAliased());
+    content.append('|').append(TextRenderContext.get().usesFractionalMetrics());
+    for (int level = 0; level < 5; level++) {
+      content.append('|').append(Style.getStyle(level));
+    }
+    content.append("|title:").append(slide.getTitle());
+    for (SlideItem item : slide.getSlideItems()) {
+      content.append('|').append(item.getClass().getName()).append(':').append(item.getLevel());
+      if (item instanceof TextItem) {
+        content.append(':').append(((TextItem) item).getText());
+      } else if (item instanceof BitmapItem) {
+        BitmapItem bitmap = (BitmapItem) item;
+        content.append(':').append(bitmap.getName()).append(':').append(bitmap.getZoom());
+        content.append(':').append(bitmap.getViewport()); // the panned part when zoomed in
+        appendFileState(content, bitmap.getImageLocation());
+      } else {
+        content.append(':').append(item);
+      }
+    }
+    try {
+      byte[] hash =
+          MessageDigest.getInstance("SHA-256")
+              .digest(content.toString().getBytes(StandardCharsets.UTF_8));
+      StringBuilder hex = new StringBuilder();
+      for (byte b : hash) {
+        hex.append(String.format("%02x", b));
+      }
+      return hex.toString();
+    } catch (NoSuchAlgorithmException x) {
+      throw new IllegalStateException("SHA-256 is not available", x);
+    }
+  }
+
+  // write a thumbnail so that readers never see half a file
+  private void store(File file, BufferedImage thumbnail) throws IOException {
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new IOException("Cannot create directory " + directory);
+    }
+    File temporary = File.createTempFile("thumbnail", ".tmp", directory);
+    try {
+      ImageIO.write(thumbnail, "png", temporary);
+      Files.move(
+          temporary.toPath(),
+          file.toPath(),
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temporary.toPath());
+    }
+    stored(file);
+  }
+
+  // count a stored file and delete the least recently used others when there are too many bytes
+  private void stored(File stored) {
+    synchronized (diskLock) {
+      if (diskBytes >= 0) {
+        diskBytes += stored.length();
+        if (diskBytes <= maxDiskBytes) {
+          return;
+        }
+      }
+      File[] files = directory.listFiles((dir, name) -> name.endsWith(".png"));
+      if (files == null) {
+        return;
+      }
+      diskBytes = 0; // counted again from the files, also after the first thumbnail
+      Map<File, Long> used = new HashMap<>(); // read once, other services may touch the files
+      for (File file : files) {
+        diskBytes += file.length();
+        used.put(file, file.lastModified());
+      }
+      Arrays.sort(files, Comparator.comparing(used::get));
+      for (int index = 0; index < files.length && diskBytes > maxDiskBytes; index++) {
+        long length = files[index].length();
+        if (!files[index].equals(stored) && files[index].delete()) {
+          diskBytes -= length;
+        }
+      }
+    }
+  }
+
+  // a copy of a slide whose images are decoded for the thumbnail, into the cache of the service
+  private Slide copyForThumbnail(Slide slide) {
+    Slide copy = new Slide();
+    copy.setTitle(slide.getTitle());
+    float scale = (float) width / Slide.WIDTH;
+    for (SlideItem item : slide.getSlideItems()) {
+      copy.append(item instanceof BitmapItem ? ((BitmapItem) item).copyFor(images, scale) : item);
+    }
+    return copy;
+  }
+
+  private synchronized BufferedImage cache(Slide slide, int revision, BufferedImage thumbnail) {
+    thumbnails.put(slide, new Thumbnail(revision, thumbnail));
+    if (thumbnails.size() > MAX_CACHED_THUMBNAILS) {
+      thumbnails.remove(thumbnails.keySet().iterator().next());
+    }
+    return thumbnail;
+  }
+
+  // the size and modification time of an image file, so a changed file changes the key
+  private static void appendFileState(StringBuilder content, URL location) {
+    if (location == null || !"file".equals(location.getProtocol())) {
+      content.append(':').append(location);
+      return;
+    }
+    try {
+      File file = new File(location.toURI());
+      content.append(':').append(file.length()).append(':').append(file.lastModified());
+    } catch (URISyntaxException | IllegalArgumentException x) {
+      content.append(':').append(location);
+    }
+  }
+
+  /** A thumbnail in memory and the revision of the slide it shows */
+  private static final class Thumbnail {
+    private final int revision;
+    private final BufferedImage image;
+
+    Thumbnail(int revision, BufferedImage image) {
+      this.revision = revision;
+      this.image = image;
+    }
+  }
+
+  private static File defaultDirectory() {
+    String property = System.getProperty(DIRECTORY_PROPERTY);
+    if (property != null && !property.isBlank()) {
+      return new File(property);
+    }
+    return new File(System.getProperty("user.home"), ".jabberpoint/thumbnails");
+  }
+}
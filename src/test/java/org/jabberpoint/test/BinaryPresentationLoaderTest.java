@@ -0,0 +1,182 @@
+package org.jabberpoint.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.jabberpoint.src.io.BinaryPresentationFile;
+import org.jabberpoint.src.io.BinaryPresentationLoader;
+import org.jabberpoint.src.io.MappedPresentationLoader;
+import org.jabberpoint.src.model.BitmapItem;
+import org.jabberpoint.src.model.Presentation;
+import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.model.Style;
+import org.jabberpoint.src.model.TextItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for BinaryPresentationLoader and BinaryPresentationFile */
+class BinaryPresentationLoaderTest {
+
+  private BinaryPresentationLoader binaryLoader;
+  private Presentation presentation;
+
+  @TempDir Path tempDir;
+
+  @BeforeEach
+  void setUp() {
+    Style.createStyles();
+    binaryLoader = new BinaryPresentationLoader();
+    presentation = new Presentation();
+    presentation.setTitle("Binary Presentation ✓");
+    for (int i = 1; i <= 3; i++) {
+      Slide slide = new Slide();
+      slide.setTitle("Slide " + i);
+      slide.append(new TextItem(1, "Text of slide " + i));
+      slide.append(new TextItem(2, ""));
+      presentation.append(slide);
+    }
+    presentation.getSlide(2).append(new BitmapItem(3, "logo.png"));
+  }
+
+  private String save() throws IOException {
+    String file = tempDir.resolve("deck" + BinaryPresentationLoader.EXTENSION).toString();
+    binaryLoader.savePresentation(presentation, file);
+    return file;
+  }
+
+  @Test
+  @DisplayName("Loading should replace the slides of the presentation and show the first one")
+  void loadingShouldReplaceSlides() throws IOException {
+    // Arrange
+    String file = save();
+    Presentation loaded = new Presentation();
+    Slide old = new Slide();
+    old.setTitle("Old");
+    loaded.append(old);
+
+    // Act
+    binaryLoader.loadPresentation(loaded, file);
+
+    // Assert
+    assertEquals(3, loaded.getSize());
+    assertEquals(0, loaded.getSlideNumber());
+    assertEquals("Slide 1", loaded.getCurrentSlide().getTitle());
+  }
+
+  @Test
+  @DisplayName("A saved presentation should load back identically")
+  void savedPresentationShouldLoadBackIdentically() throws IOException {
+    String file = save();
+    Presentation loaded = new Presentation();
+
+    binaryLoader.loadPresentation(loaded, file);
+
+    assertEquals("Binary Presentation ✓", loaded.getTitle());
+    assertEquals(3, loaded.getSize());
+    for (int i = 0; i < 3; i++) {
+      assertEquals("Slide " + (i + 1), loaded.getSlide(i).getTitle());
+      TextItem text = (TextItem) loaded.getSlide(i).getSlideItem(0);
+      assertEquals("Text of slide " + (i + 1), text.getText());
+      assertEquals(1, text.getLevel());
+      assertEquals("", ((TextItem) loaded.getSlide(i).getSlideItem(1)).getText());
+    }
+    BitmapItem image = (BitmapItem) loaded.getSlide(2).getSlideItem(2);
+    assertEquals("logo.png", image.getImageName());
+    assertEquals(3, image.getLevel());
+  }
+
+  @Test
+  @DisplayName("Any slide should be readable on its own through the slide index")
+  void anySlideShouldBeReadableThroughIndex() throws IOException {
+    String file = save();
+
+    try (BinaryPresentationFile binaryFile = BinaryPresentationFile.open(file)) {
+      assertEquals(3, binaryFile.getSlideCount());
+      assertEquals("Binary Presentation ✓", binaryFile.getTitle());
+      assertEquals("Slide 3", binaryFile.readSlide(2).getTitle());
+      assertEquals("Slide 1", binaryFile.readSlide(0).getTitle());
+      assertEquals(3, binaryFile.readSlide(2).getSize());
+      assertThrows(IndexOutOfBoundsException.class, () -> binaryFile.readSlide(3));
+    }
+  }
+
+  @Test
+  @DisplayName("A mapped presentation should be saved over the file it is read from")
+  void mappedPresentationShouldBeSavedOverItsOwnFile() throws IOException {
+    // Arrange
+    for (int i = 4; i <= 200; i++) {
+      Slide slide = new Slide();
+      slide.setTitle("Slide " + i);
+      slide.append(new TextItem(1, "Text of slide " + i));
+      presentation.append(slide);
+    }
+    String file = save();
+    Presentation mapped = new Presentation();
+    new MappedPresentationLoader(4).loadPresentation(mapped, file);
+
+    // Act
+    binaryLoader.savePresentation(mapped, file);
+
+    // Assert
+    Presentation loaded = new Presentation();
+    binaryLoader.loadPresentation(loaded, file);
+    assertEquals(200, loaded.getSize());
+    assertEquals("Slide 200", loaded.getSlide(199).getTitle());
+    assertEquals("Slide 1", mapped.getSlide(0).getTitle(), "The open file should stay readable");
+    try (Stream<Path> files = Files.list(tempDir)) {
+      assertEquals(1, files.count(), "No temporary file should be left behind");
+    }
+  }
+
+  @Test
+  @DisplayName("A presentation without title or slides should round trip")
+  void emptyPresentationShouldRoundTrip() throws IOException {
+    presentation = new Presentation();
+    String file = save();
+
+    try (BinaryPresentationFile binaryFile = BinaryPresentationFile.open(file)) {
+      assertNull(binaryFile.getTitle());
+      assertEquals(0, binaryFile.getSlideCount());
+    }
+  }
+
+  @Test
+  @DisplayName("Files that are not binary presentations should be rejected")
+  void nonBinaryFilesShouldBeRejected() throws IOException {
+    Path xml = tempDir.resolve("deck.xml");
+    Files.writeString(xml, "<presentation><showtitle>Not binary</showtitle></presentation>");
+
+    assertThrows(
+        IOException.class, () -> binaryLoader.loadPresentation(new Presentation(), xml.toString()));
+    assertThrows(
+        IOException.class,
+        () ->
+            binaryLoader.loadPresentation(
+                new Presentation(), tempDir.resolve("none.jbp").toString()));
+  }
+
+  @Test
+  @DisplayName("A truncated file should be reported as corrupt")
+  void truncatedFileShouldBeReportedAsCorrupt() throws IOException {
+    String file = save();
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.setLength(raf.length() - 4);
+    }
+
+    assertThrows(IOException.class, () -> binaryLoader.loadPresentation(new Presentation(), file));
+  }
+
+  @Test
+  @DisplayName("isBinaryFile should recognise the binary extension")
+  void isBinaryFileShouldRecogniseExtension() {
+    assertTrue(BinaryPresentationLoader.isBinaryFile("deck.jbp"));
+    assertTrue(BinaryPresentationLoader.isBinaryFile("DECK.JBP"));
+    assertFalse(BinaryPresentationLoader.isBinaryFile("deck.xml"));
+  }
+}
@@ -5,15 +5,20 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.awt.image.ImageObserver;
 import java.io.File;
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
 import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
 import javax.imageio.ImageIO;
 import org.jabberpoint.src.model.BitmapItem;
+import org.jabberpoint.src.model.ImageCache;
 import org.jabberpoint.src.model.Style;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -48,6 +53,9 @@ class BitmapItemTest {
     File imageFile = tempDir.resolve(testImageName).toFile();
     ImageIO.write(testImage, "png", imageFile);
 
+    // Start without decoded images shared by other tests
+    ImageCache.getInstance().clear();
+
     // Initialize Style
     Style.createStyles();
     realStyle = Style.getStyle(testLevel);
@@ -114,7 +122,7 @@ class BitmapItemTest {
     // Using reflection to set the bufferedImage field directly to our test image
     Field bufferedImageField = BitmapItem.class.getDeclaredField("bufferedImage");
     bufferedImageField.setAccessible(true);
-    bufferedImageField.set(bitmapItem, testImage);
+    bufferedImageField.set(bitmapItem, new WeakReference<>(testImage));
 
     // Call getBoundingBox
     float scale = 1.5f;
@@ -139,7 +147,7 @@ class BitmapItemTest {
     // Using reflection to set the bufferedImage field directly to our test image
     Field bufferedImageField = BitmapItem.class.getDeclaredField("bufferedImage");
     bufferedImageField.setAccessible(true);
-    bufferedImageField.set(bitmapItem, testImage);
+    bufferedImageField.set(bitmapItem, new WeakReference<>(testImage));
 
     // Call draw
     float scale = 2.0f;
@@ -236,4 +244,221 @@ class BitmapItemTest {
     assertTrue(
         toStringResult.contains(String.valueOf(testLevel)), "toString should include the level");
   }
+
+  @Test
+  @DisplayName("Constructor should not decode the image")
+  void constructorShouldNotDecodeImage() throws Exception {
+    // Arrange & Act
+    bitmapItem = new BitmapItem(testLevel, tempDir.resolve(testImageName).toString());
+
+    // Assert
+    Field bufferedImageField = BitmapItem.class.getDeclaredField("bufferedImage");
+    bufferedImageField.setAccessible(true);
+    assertNull(bufferedImageField.get(bitmapItem), "Decoding should wait until the item is used");
+  }
+
+  @Test
+  @DisplayName("draw should show a placeholder and notify the observer when the image is decoded")
+  void drawShouldShowPlaceholderAndNotifyObserver() throws Exception {
+    // Arrange
+    bitmapItem = new BitmapItem(testLevel, tempDir.resolve(testImageName).toString());
+
+    // Act
+    bitmapItem.draw(10, 20, 1.0f, mockGraphics, realStyle, mockObserver);
+    BufferedImage decoded = bitmapItem.startLoading().get(5, TimeUnit.SECONDS);
+
+    // Assert
+    assertNotNull(decoded, "The image should have been decoded");
+    assertEquals(100, decoded.getWidth());
+    assertFalse(bitmapItem.isLoading(), "The item should not be loading anymore");
+    boolean drawnRightAway =
+        mockingDetails(mockGraphics).getInvocations().stream()
+            .anyMatch(invocation -> invocation.getMethod().getName().equals("drawImage"));
+    if (!drawnRightAway) {
+      // The placeholder was drawn, so the observer must be told to repaint
+      verify(mockGraphics).fillRect(anyInt(), anyInt(), eq(100), eq(50));
+      verify(mockObserver, timeout(5000))
+          .imageUpdate(eq(decoded), eq(ImageObserver.ALLBITS), eq(0), eq(0), eq(100), eq(50));
+    }
+
+    // Drawing again should draw the decoded image
+    bitmapItem.draw(10, 20, 1.0f, mockGraphics, realStyle, mockObserver);
+    verify(mockGraphics, times(drawnRightAway ? 2 : 1))
+        .drawImage(eq(decoded), anyInt(), anyInt(), eq(100), eq(50), eq(mockObserver));
+  }
+
+  @Test
+  @DisplayName("A missing image should not be loading")
+  void missingImageShouldNotBeLoading() {
+    // Arrange
+    bitmapItem = new BitmapItem(testLevel, "non_existent_image.png");
+
+    // Act & Assert
+    assertFalse(bitmapItem.isLoading(), "A missing image should fail right away");
+    assertEquals(0, bitmapItem.getBoundingBox(mockGraphics, mockObserver, 1.0f, realStyle).width);
+  }
+
+  @Test
+  @DisplayName("A subsampled image should be laid out and drawn at the size it is shown at")
+  void subsampledImageShouldKeepItsShownSize() throws Exception {
+    // Arrange
+    File photo = tempDir.resolve("photo.png").toFile();
+    ImageIO.write(new BufferedImage(4800, 2400, BufferedImage.TYPE_INT_RGB), "png", photo);
+    bitmapItem = new BitmapItem(testLevel, photo.getAbsolutePath());
+
+    // Act
+    BufferedImage decoded = bitmapItem.startLoading().get(5, TimeUnit.SECONDS);
+    Rectangle box = bitmapItem.getBoundingBox(mockGraphics, mockObserver, 1.0f, realStyle);
+    bitmapItem.draw(0, 0, 1.0f, mockGraphics, realStyle, mockObserver);
+
+    // Assert
+    assertTrue(decoded.getWidth() < 4800, "The image should have been subsampled");
+    assertEquals(1200, box.width, "The image should be fitted to the slide");
+    verify(mockGraphics)
+        .drawImage(eq(decoded), anyInt(), anyInt(), eq(1200), eq(600), eq(mockObserver));
+  }
+
+  @Test
+  @DisplayName("draw should reuse a pre-scaled copy until the scale changes")
+  void drawShouldReusePreScaledCopyUntilScaleChanges() throws Exception {
+    // Arrange
+    bitmapItem = new BitmapItem(testLevel, tempDir.resolve(testImageName).toString());
+    bitmapItem.startLoading().get(5, TimeUnit.SECONDS);
+    BufferedImage canvas = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = canvas.createGraphics();
+    Field scaledImageField = BitmapItem.class.getDeclaredField("scaledImage");
+    scaledImageField.setAccessible(true);
+
+    // Act
+    bitmapItem.draw(0, 0, 0.5f, g, realStyle, mockObserver);
+    Object first = scaledImageField.get(bitmapItem);
+    bitmapItem.draw(0, 0, 0.5f, g, realStyle, mockObserver);
+    Object second = scaledImageField.get(bitmapItem);
+    bitmapItem.draw(0, 0, 1.5f, g, realStyle, mockObserver);
+    Object third = scaledImageField.get(bitmapItem);
+    g.dispose();
+
+    // Assert
+    assertNotNull(first, "Drawing on a Graphics2D should make a pre-scaled copy");
+    assertSame(first, second, "The copy should be reused at the same scale");
+    assertNotSame(second, third, "The copy should be made again for another scale");
+  }
+
+  @Test
+  @DisplayName("Zooming in should draw the visible part from tiles and change the revision")
+  void zoomShouldDrawVisiblePartFromTiles() throws Exception {
+    // Arrange
+    File photo = tempDir.resolve("zoom.png").toFile();
+    BufferedImage source = new BufferedImage(2400, 1600, BufferedImage.TYPE_INT_RGB);
+    Graphics2D sourceGraphics = source.createGraphics();
+    sourceGraphics.setColor(java.awt.Color.GREEN);
+    sourceGraphics.fillRect(1100, 700, 200, 200);
+    sourceGraphics.dispose();
+    ImageIO.write(source, "png", photo);
+    bitmapItem = new BitmapItem(testLevel, photo.getAbsolutePath());
+    int revision = bitmapItem.getRevision();
+
+    // Act
+    bitmapItem.setZoom(8.0f);
+    Rectangle2D viewport = bitmapItem.getViewport();
+    BufferedImage canvas = new BufferedImage(1200, 800, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = canvas.createGraphics();
+    bitmapItem.draw(0, 0, 1.0f, g, realStyle, null);
+    long deadline = System.currentTimeMillis() + 5000;
+    while (bitmapItem.isLoading() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    bitmapItem.draw(0, 0, 1.0f, g, realStyle, null);
+    g.dispose();
+
+    // Assert
+    assertNotEquals(revision, bitmapItem.getRevision());
+    assertEquals(new Rectangle2D.Double(1050, 700, 300, 200), viewport);
+    assertEquals(java.awt.Color.GREEN.getRGB(), canvas.getRGB(600, 400));
+  }
+
+  @Test
+  @DisplayName("Panning should keep the shown part within the image")
+  void panShouldStayWithinImage() throws Exception {
+    // Arrange
+    bitmapItem = new BitmapItem(testLevel, tempDir.resolve(testImageName).toString());
+    bitmapItem.setZoom(2.0f);
+
+    // Act
+    bitmapItem.pan(-5, -5);
+    Rectangle2D topLeft = bitmapItem.getViewport();
+    bitmapItem.setZoom(0.5f);
+
+    // Assert
+    assertEquals(0, topLeft.getX(), 0.001);
+    assertEquals(0, topLeft.getY(), 0.001);
+    assertEquals(1.0f, bitmapItem.getZoom(), "The zoom should not go below 1");
+    assertEquals(0, bitmapItem.getViewport().getX(), 0.001);
+  }
+
+  @Test
+  @DisplayName("An image dropped by the image cache should be decoded again when drawn")
+  void droppedImageShouldBeDecodedAgain() throws Exception {
+    // Arrange
+    bitmapItem = new BitmapItem(testLevel, tempDir.resolve(testImageName).toString());
+    BufferedImage first = bitmapItem.startLoading().get(5, TimeUnit.SECONDS);
+    long usedBytes = ImageCache.getInstance().getUsedBytes();
+    long imageBytes = ImageCache.sizeOf(first);
+
+    // Act
+    ImageCache.getInstance().clear();
+    first = null;
+    System.gc();
+    BufferedImage second = bitmapItem.startLoading().get(5, TimeUnit.SECONDS);
+
+    // Assert
+    assertTrue(usedBytes >= imageBytes, "The cache should hold the image");
+    assertNotNull(second, "The image should be decoded again");
+    assertTrue(ImageCache.getInstance().getPeakBytes() >= usedBytes);
+    if (bitmapItem.getReloadCount() == 0) {
+      return; // the garbage collector has not cleared the weak reference
+    }
+    assertEquals(1, bitmapItem.getReloadCount());
+  }
+
+  @Test
+  @DisplayName("Drawing at another scale should replace the scaled copy in the image cache")
+  void scaledCopyShouldBeReplacedWhenScaleChanges() throws Exception {
+    // Arrange
+    bitmapItem = new BitmapItem(testLevel, tempDir.resolve(testImageName).toString());
+    bitmapItem.startLoading().get(5, TimeUnit.SECONDS);
+    BufferedImage canvas = new BufferedImage(600, 400, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = canvas.createGraphics();
+
+    // Act
+    for (float scale = 1.5f; scale <= 5.0f; scale += 0.5f) {
+      bitmapItem.draw(0, 0, scale, g, realStyle, null);
+    }
+    g.dispose();
+
+    // Assert
+    assertEquals(
+        2, ImageCache.getInstance().getImageCount(), "The decoded image and one scaled copy");
+  }
+
+  @Test
+  @DisplayName("Zooming back out should remove the tiles from the image cache")
+  void zoomingOutShouldRemoveTiles() throws Exception {
+    // Arrange
+    bitmapItem = new BitmapItem(testLevel, tempDir.resolve(testImageName).toString());
+    bitmapItem.setZoom(2.0f);
+    BufferedImage canvas = new BufferedImage(600, 400, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = canvas.createGraphics();
+    bitmapItem.draw(0, 0, 1.0f, g, realStyle, null);
+    bitmapItem.whenTilesDecoded().get(5, TimeUnit.SECONDS);
+    g.dispose();
+    int withTiles = ImageCache.getInstance().getImageCount();
+
+    // Act
+    bitmapItem.setZoom(1.0f);
+
+    // Assert
+    assertTrue(withTiles > 0, "The tiles should have been cached");
+    assertEquals(0, ImageCache.getInstance().getImageCount());
+  }
 }
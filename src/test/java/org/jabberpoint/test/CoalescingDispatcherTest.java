@@ -0,0 +1,85 @@
+package org.jabberpoint.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.swing.SwingUtilities;
+import org.jabberpoint.src.model.Presentation;
+import org.jabberpoint.src.model.PresentationObserver;
+import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.ui.CoalescingDispatcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for CoalescingDispatcher */
+class CoalescingDispatcherTest {
+  private Presentation presentation;
+  private CoalescingDispatcher dispatcher;
+  private final List<Integer> seen = new ArrayList<>(); // event dispatch thread only
+
+  @BeforeEach
+  void setUp() {
+    presentation = new Presentation();
+    for (int number = 0; number < 500; number++) {
+      presentation.append(new Slide());
+    }
+    dispatcher = new CoalescingDispatcher();
+    presentation.setNotificationDispatcher(dispatcher);
+    presentation.addObserver(
+        new PresentationObserver() {
+          public void update(Presentation presentation, Slide slide) {
+            assertTrue(SwingUtilities.isEventDispatchThread(), "Observers run on the EDT");
+            seen.add(presentation.getSlideNumber());
+          }
+        });
+  }
+
+  @Test
+  @DisplayName("A burst of slide changes should reach observers as a few updates of the latest")
+  void burstShouldBeCoalesced() throws Exception {
+    // Act
+    presentation.setSlideNumber(0);
+    SwingUtilities.invokeAndWait(
+        () -> {
+          for (int step = 0; step < 400; step++) {
+            presentation.nextSlide();
+          }
+        });
+    awaitQuiet();
+
+    // Assert
+    assertEquals(401, dispatcher.getDispatchedCount());
+    assertTrue(seen.size() <= 3, "Expected a few updates, not " + seen.size());
+    assertEquals(400, (int) seen.get(seen.size() - 1), "The latest slide should be delivered");
+  }
+
+  @Test
+  @DisplayName("Changes from another thread should be delivered on the event dispatch thread")
+  void changesFromAnotherThreadShouldReachTheEdt() throws Exception {
+    // Act
+    Thread loader = new Thread(() -> presentation.setSlideNumber(7));
+    loader.start();
+    loader.join();
+    awaitQuiet();
+
+    // Assert
+    assertEquals(List.of(7), seen);
+    assertEquals(1, dispatcher.getDeliveredCount());
+  }
+
+  // wait until more than a frame has passed without deliveries
+  private void awaitQuiet() throws Exception {
+    int delivered;
+    do {
+      delivered = dispatcher.getDeliveredCount();
+      Thread.sleep(5 * CoalescingDispatcher.DEFAULT_INTERVAL_MS);
+      CountDownLatch flushed = new CountDownLatch(1);
+      SwingUtilities.invokeLater(flushed::countDown);
+      assertTrue(flushed.await(5, TimeUnit.SECONDS));
+    } while (delivered != dispatcher.getDeliveredCount());
+  }
+}
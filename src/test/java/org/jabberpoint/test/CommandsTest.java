@@ -5,8 +5,12 @@ import static org.mockito.Mockito.*;
 import org.jabberpoint.src.command.Command;
 import org.jabberpoint.src.command.ExitCommand;
 import org.jabberpoint.src.command.NextSlideCommand;
+import org.jabberpoint.src.command.PanCommand;
 import org.jabberpoint.src.command.PrevSlideCommand;
+import org.jabberpoint.src.command.ZoomCommand;
+import org.jabberpoint.src.model.BitmapItem;
 import org.jabberpoint.src.model.Presentation;
+import org.jabberpoint.src.model.Slide;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -67,4 +71,24 @@ class CommandsTest {
     verify(mockPresentation, times(1)).exit(0);
     verifyNoMoreInteractions(mockPresentation);
   }
+
+  @Test
+  @DisplayName("ZoomCommand and PanCommand should change the images of the current slide")
+  void zoomAndPanCommandsShouldChangeImagesOfCurrentSlide() {
+    // Arrange
+    Slide slide = new Slide();
+    BitmapItem bitmap = mock(BitmapItem.class);
+    slide.append(bitmap);
+    when(mockPresentation.getCurrentSlide()).thenReturn(slide);
+    when(bitmap.getZoom()).thenReturn(2.0f);
+
+    // Act
+    new ZoomCommand(mockPresentation, 1.5f).execute();
+    new PanCommand(mockPresentation, 0.25, 0).execute();
+
+    // Assert
+    verify(bitmap).setZoom(3.0f);
+    verify(bitmap).pan(0.25, 0);
+    verify(mockPresentation, times(2)).refresh();
+  }
 }
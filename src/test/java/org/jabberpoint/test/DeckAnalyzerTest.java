@@ -0,0 +1,73 @@
+package org.jabberpoint.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.font.FontRenderContext;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.jabberpoint.src.io.DeckAnalyzer;
+import org.jabberpoint.src.model.Presentation;
+import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.model.Style;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for DeckAnalyzer */
+class DeckAnalyzerTest {
+
+  private Presentation presentation;
+
+  @BeforeEach
+  void setUp() {
+    Style.createStyles();
+    presentation = new Presentation();
+    for (int number = 0; number < 20; number++) {
+      Slide slide = new Slide();
+      slide.setTitle("Slide " + number);
+      slide.append(1, "A short item");
+      presentation.append(slide);
+    }
+    Slide crowded = new Slide();
+    crowded.setTitle("Crowded");
+    for (int number = 0; number < 40; number++) {
+      crowded.append(2, "Item " + number);
+    }
+    presentation.append(crowded);
+  }
+
+  @Test
+  @DisplayName("Only the slide with too many items should overflow")
+  void onlyCrowdedSlideShouldOverflow() {
+    // Act
+    DeckAnalyzer.Report report = new DeckAnalyzer().analyze(presentation);
+
+    // Assert
+    assertEquals(21, report.getSlides().size());
+    List<DeckAnalyzer.SlideReport> overflowing = report.getOverflowing();
+    assertEquals(1, overflowing.size());
+    assertEquals(20, overflowing.get(0).getSlideNumber());
+    assertEquals("Crowded", overflowing.get(0).getTitle());
+    assertTrue(overflowing.get(0).getHeight() > Slide.HEIGHT);
+    assertTrue(report.toString().contains("Crowded"));
+  }
+
+  @Test
+  @DisplayName("The report should give the heights of the title and every item")
+  void reportShouldGiveItemHeights() {
+    // Arrange
+    DeckAnalyzer analyzer =
+        new DeckAnalyzer(new ForkJoinPool(2), new FontRenderContext(null, true, true));
+
+    // Act
+    DeckAnalyzer.Report report = analyzer.analyze(presentation);
+
+    // Assert
+    DeckAnalyzer.SlideReport first = report.getSlides().get(0);
+    int[] heights = first.getItemHeights();
+    assertEquals(2, heights.length, "The title and the item should be measured");
+    assertEquals(heights[0] + heights[1], first.getHeight());
+    assertFalse(first.isOverflowing());
+    assertTrue(report.getLayoutNanos() > 0);
+  }
+}
@@ -0,0 +1,135 @@
+package org.jabberpoint.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import org.jabberpoint.src.model.BitmapItem;
+import org.jabberpoint.src.model.ImageCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for ImageCache */
+class ImageCacheTest {
+
+  private static final long IMAGE_BYTES = 40 * 30 * 4L; // TYPE_INT_RGB
+
+  @TempDir Path tempDir;
+
+  @Test
+  @DisplayName("An image should be decoded once and shared")
+  void imageShouldBeDecodedOnceAndShared() throws Exception {
+    // Arrange
+    ImageCache cache = new ImageCache(ImageCache.DEFAULT_BUDGET);
+    URL source = writeImage("logo.png");
+
+    // Act
+    BufferedImage first = cache.load(source).get(5, TimeUnit.SECONDS);
+    BufferedImage second = cache.load(source).get(5, TimeUnit.SECONDS);
+
+    // Assert
+    assertSame(first, second);
+    assertEquals(1, cache.getMisses());
+    assertEquals(1, cache.getHits());
+    assertEquals(ImageCache.sizeOf(first), cache.getUsedBytes());
+    assertSame(first, cache.getIfPresent(source));
+  }
+
+  @Test
+  @DisplayName("Bitmap items showing the same file should share the decoded image")
+  void bitmapItemsShouldShareDecodedImage() throws Exception {
+    // Arrange
+    writeImage("background.png");
+    String name = tempDir.resolve("background.png").toString();
+    BitmapItem first = new BitmapItem(1, name);
+    BitmapItem second = new BitmapItem(2, name);
+
+    // Act
+    BufferedImage firstImage = first.startLoading().get(5, TimeUnit.SECONDS);
+    BufferedImage secondImage = second.startLoading().get(5, TimeUnit.SECONDS);
+
+    // Assert
+    assertNotNull(firstImage);
+    assertSame(firstImage, secondImage);
+  }
+
+  @Test
+  @DisplayName("A file that changed on disk should be decoded again")
+  void changedFileShouldBeDecodedAgain() throws Exception {
+    // Arrange
+    ImageCache cache = new ImageCache(ImageCache.DEFAULT_BUDGET);
+    URL source = writeImage("changing.png");
+    BufferedImage before = cache.load(source).get(5, TimeUnit.SECONDS);
+    File file = tempDir.resolve("changing.png").toFile();
+
+    // Act
+    assertTrue(file.setLastModified(file.lastModified() - 60_000));
+    BufferedImage after = cache.load(source).get(5, TimeUnit.SECONDS);
+
+    // Assert
+    assertNotSame(before, after);
+    assertEquals(2, cache.getMisses());
+  }
+
+  @Test
+  @DisplayName("Images beyond the budget should no longer be held")
+  void imagesBeyondBudgetShouldNotBeHeld() throws Exception {
+    // Arrange
+    ImageCache cache = new ImageCache(ImageCache.DEFAULT_BUDGET);
+    BufferedImage first = cache.load(writeImage("image0.png")).get(5, TimeUnit.SECONDS);
+    cache.setBudget(2 * ImageCache.sizeOf(first));
+
+    // Act
+    for (int i = 1; i < 4; i++) {
+      cache.load(writeImage("image" + i + ".png")).get(5, TimeUnit.SECONDS);
+    }
+
+    // Assert
+    assertEquals(2, cache.getImageCount());
+    assertTrue(cache.getUsedBytes() <= cache.getBudget());
+    cache.clear();
+    assertEquals(0, cache.getUsedBytes());
+    assertThrows(IllegalArgumentException.class, () -> cache.setBudget(-1));
+  }
+
+  @Test
+  @DisplayName("sizeOf should give the bytes of the pixels")
+  void sizeOfShouldGiveBytesOfPixels() {
+    assertEquals(
+        IMAGE_BYTES, ImageCache.sizeOf(new BufferedImage(40, 30, BufferedImage.TYPE_INT_ARGB)));
+    assertEquals(
+        40 * 30 * 3L, ImageCache.sizeOf(new BufferedImage(40, 30, BufferedImage.TYPE_3BYTE_BGR)));
+  }
+
+  @Test
+  @DisplayName("Derived copies should count against the budget and the peak should be kept")
+  void derivedCopiesShouldCountAgainstBudget() throws Exception {
+    // Arrange
+    ImageCache cache = new ImageCache(IMAGE_BYTES * 2);
+    URL source = writeImage("scaled.png");
+    BufferedImage copy = new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB);
+
+    // Act
+    cache.putDerived(source, "small", copy);
+    cache.putDerived(source, "other", new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB));
+    cache.putDerived(source, "third", new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB));
+
+    // Assert
+    assertEquals(IMAGE_BYTES * 2, cache.getUsedBytes(), "The oldest copy should be pushed out");
+    assertEquals(IMAGE_BYTES * 2, cache.getPeakBytes());
+    assertNull(cache.getDerived(source, "missing"));
+    assertSame(copy, cache.getDerived(source, "small"), "Pushed out copies are held softly");
+  }
+
+  private URL writeImage(String name) throws IOException {
+    File file = tempDir.resolve(name).toFile();
+    ImageIO.write(new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB), "png", file);
+    return file.toURI().toURL();
+  }
+}
@@ -0,0 +1,137 @@
+package org.jabberpoint.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import org.jabberpoint.src.command.PreloadImagesCommand;
+import org.jabberpoint.src.model.BitmapItem;
+import org.jabberpoint.src.model.ImageDecoder;
+import org.jabberpoint.src.model.Presentation;
+import org.jabberpoint.src.model.Slide;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for ImageDecoder */
+class ImageDecoderTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  @DisplayName("readSize should give the size without decoding the image")
+  void readSizeShouldGiveSize() throws IOException {
+    // Arrange
+    URL image = writeImage("size.png", 64, 32);
+
+    // Act
+    Dimension size = ImageDecoder.readSize(image);
+
+    // Assert
+    assertEquals(new Dimension(64, 32), size);
+  }
+
+  @Test
+  @DisplayName("Decoding should complete in the background")
+  void decodingShouldCompleteInBackground() throws Exception {
+    // Arrange
+    URL image = writeImage("decode.png", 20, 10);
+
+    // Act
+    BufferedImage decoded = ImageDecoder.decode(image).get(5, TimeUnit.SECONDS);
+
+    // Assert
+    assertEquals(20, decoded.getWidth());
+    assertEquals(10, decoded.getHeight());
+  }
+
+  @Test
+  @DisplayName("Files that are not images should be rejected")
+  void filesThatAreNotImagesShouldBeRejected() throws IOException {
+    // Arrange
+    Path text = tempDir.resolve("not-an-image.png");
+    Files.writeString(text, "not an image");
+    URL url = text.toUri().toURL();
+
+    // Act & Assert
+    assertThrows(IOException.class, () -> ImageDecoder.read(url));
+    assertThrows(IOException.class, () -> ImageDecoder.readSize(url));
+  }
+
+  @Test
+  @DisplayName("Preloading should decode the images of all slides")
+  void preloadingShouldDecodeAllImages() throws Exception {
+    // Arrange
+    Presentation presentation = new Presentation();
+    BitmapItem[] items = new BitmapItem[8];
+    for (int i = 0; i < items.length; i++) {
+      writeImage("image" + i + ".png", 10 + i, 10);
+      items[i] = new BitmapItem(1, tempDir.resolve("image" + i + ".png").toString());
+      Slide slide = new Slide();
+      slide.append(items[i]);
+      presentation.append(slide);
+    }
+    PreloadImagesCommand command = new PreloadImagesCommand(presentation);
+
+    // Act
+    command.execute();
+    command.whenPreloaded().get(10, TimeUnit.SECONDS);
+
+    // Assert
+    for (int i = 0; i < items.length; i++) {
+      assertFalse(items[i].isLoading(), "Image " + i + " should have been decoded");
+      assertEquals(10 + i, items[i].startLoading().getNow(null).getWidth());
+    }
+  }
+
+  @Test
+  @DisplayName("Oversized images should be decoded subsampled")
+  void oversizedImagesShouldBeDecodedSubsampled() throws IOException {
+    // Arrange
+    URL image = writeImage("photo.png", 4800, 3200);
+
+    // Act
+    BufferedImage decoded = ImageDecoder.read(image, 1.0f);
+
+    // Assert
+    assertEquals(4, ImageDecoder.getSubsampling(4800, 3200, 1.0f));
+    assertEquals(1200, decoded.getWidth());
+    assertEquals(800, decoded.getHeight());
+  }
+
+  @Test
+  @DisplayName("Images that fit the render scale should be decoded fully")
+  void fittingImagesShouldBeDecodedFully() throws IOException {
+    // Arrange
+    URL image = writeImage("screenshot.png", 2400, 1600);
+
+    // Act
+    BufferedImage decoded = ImageDecoder.read(image, 2.0f);
+
+    // Assert
+    assertEquals(1, ImageDecoder.getSubsampling(2400, 1600, 2.0f));
+    assertEquals(2400, decoded.getWidth());
+  }
+
+  @Test
+  @DisplayName("Images should be fitted to the slide")
+  void imagesShouldBeFittedToSlide() {
+    assertEquals(new Dimension(1200, 600), ImageDecoder.fitToSlide(2400, 1200));
+    assertEquals(new Dimension(400, 800), ImageDecoder.fitToSlide(1000, 2000));
+    assertEquals(new Dimension(100, 50), ImageDecoder.fitToSlide(100, 50));
+    assertThrows(IllegalArgumentException.class, () -> ImageDecoder.setMaxRenderScale(0));
+  }
+
+  private URL writeImage(String name, int width, int height) throws IOException {
+    File file = tempDir.resolve(name).toFile();
+    ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", file);
+    return file.toURI().toURL();
+  }
+}
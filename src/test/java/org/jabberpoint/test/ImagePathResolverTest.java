@@ -0,0 +1,106 @@
+package org.jabberpoint.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.jabberpoint.src.model.BitmapItem;
+import org.jabberpoint.src.model.ImagePathResolver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for ImagePathResolver */
+class ImagePathResolverTest {
+  @TempDir Path tempDir;
+
+  @Test
+  @DisplayName("The first directory of the search path with the image should win")
+  void firstMatchingDirectoryShouldWin() throws Exception {
+    // Arrange
+    Path first = Files.createDirectory(tempDir.resolve("first"));
+    Path second = Files.createDirectory(tempDir.resolve("second"));
+    Files.createFile(first.resolve("both.png"));
+    Files.createFile(second.resolve("both.png"));
+    Files.createFile(second.resolve("only.png"));
+    ImagePathResolver resolver =
+        new ImagePathResolver(List.of(first.toString(), second.toString()));
+
+    // Act
+    URL both = resolver.resolve("both.png");
+    URL only = resolver.resolve("only.png");
+
+    // Assert
+    assertEquals(first.resolve("both.png").toUri().toURL(), both);
+    assertEquals(second.resolve("only.png").toUri().toURL(), only);
+  }
+
+  @Test
+  @DisplayName("Found and missing names should be looked up only once")
+  void foundAndMissingNamesShouldBeCached() throws Exception {
+    // Arrange
+    Files.createFile(tempDir.resolve("found.png"));
+    ImagePathResolver resolver =
+        new ImagePathResolver(List.of(tempDir.resolve("none").toString(), tempDir.toString()));
+
+    // Act
+    for (int i = 0; i < 10; i++) {
+      resolver.resolve("found.png");
+      assertNull(resolver.resolve("missing.png"));
+    }
+
+    // Assert
+    assertEquals(4, resolver.getProbes(), "Each name should probe both directories once");
+    assertEquals(2, resolver.getMisses());
+    assertEquals(18, resolver.getHits());
+  }
+
+  @Test
+  @DisplayName("clear should find images that were added after a miss")
+  void clearShouldForgetMisses() throws Exception {
+    // Arrange
+    ImagePathResolver resolver = new ImagePathResolver(List.of(tempDir.toString()));
+    assertNull(resolver.resolve("late.png"));
+    Files.createFile(tempDir.resolve("late.png"));
+
+    // Act
+    URL cached = resolver.resolve("late.png");
+    resolver.clear();
+    URL found = resolver.resolve("late.png");
+
+    // Assert
+    assertNull(cached, "The miss should be cached");
+    assertNotNull(found);
+  }
+
+  @Test
+  @DisplayName("Absolute names and classpath resources should be resolved")
+  void absoluteNamesAndResourcesShouldBeResolved() throws Exception {
+    // Arrange
+    File file = Files.createFile(tempDir.resolve("absolute.png")).toFile();
+    ImagePathResolver resolver = new ImagePathResolver(List.of(ImagePathResolver.CLASSPATH));
+
+    // Act & Assert
+    assertEquals(file.toURI().toURL(), resolver.resolve(file.getAbsolutePath()));
+    assertNotNull(
+        resolver.resolve("org/jabberpoint/test/ImagePathResolverTest.class"),
+        "Resources on the classpath should be found");
+  }
+
+  @Test
+  @DisplayName("A bitmap item should report how long finding its image took")
+  void bitmapItemShouldReportResolveTime() throws Exception {
+    // Arrange
+    File file = Files.createFile(tempDir.resolve("timed.png")).toFile();
+    BitmapItem item = new BitmapItem(1, file.getAbsolutePath());
+
+    // Act
+    item.isLoading();
+
+    // Assert
+    assertTrue(item.getResolveNanos() > 0);
+  }
+}
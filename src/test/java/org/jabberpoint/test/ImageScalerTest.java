@@ -0,0 +1,64 @@
+package org.jabberpoint.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import org.jabberpoint.src.model.ImageScaler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for ImageScaler */
+class ImageScalerTest {
+
+  private GraphicsConfiguration configuration;
+
+  @BeforeEach
+  void setUp() {
+    Graphics2D g = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB).createGraphics();
+    configuration = g.getDeviceConfiguration();
+    g.dispose();
+  }
+
+  @Test
+  @DisplayName("Scaling down should give a copy of the requested size in the display format")
+  void scalingDownShouldGiveCopyOfRequestedSize() {
+    // Arrange
+    BufferedImage source = new BufferedImage(1000, 500, BufferedImage.TYPE_3BYTE_BGR);
+    Graphics2D g = source.createGraphics();
+    g.setColor(Color.red);
+    g.fillRect(0, 0, 1000, 500);
+    g.dispose();
+
+    // Act
+    BufferedImage scaled = ImageScaler.scale(source, 130, 65, configuration);
+
+    // Assert
+    assertEquals(130, scaled.getWidth());
+    assertEquals(65, scaled.getHeight());
+    assertEquals(
+        configuration.createCompatibleImage(1, 1).getType(),
+        scaled.getType(),
+        "The copy should be in the format of the display");
+    assertEquals(Color.red.getRGB(), scaled.getRGB(65, 32));
+  }
+
+  @Test
+  @DisplayName("Scaling up and keeping transparency should work")
+  void scalingUpShouldKeepTransparency() {
+    // Arrange
+    BufferedImage source = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB);
+
+    // Act
+    BufferedImage scaled = ImageScaler.scale(source, 25, 40, configuration);
+
+    // Assert
+    assertEquals(25, scaled.getWidth());
+    assertEquals(40, scaled.getHeight());
+    assertEquals(Transparency.TRANSLUCENT, scaled.getColorModel().getTransparency());
+  }
+}
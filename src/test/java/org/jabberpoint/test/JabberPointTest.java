@@ -150,8 +150,8 @@ class JabberPointTest {
     // Act
     JabberPoint.main(new String[] {"test.xml"});
 
-    // Verify XML loader was created
-    mockedLoaderFactory.verify(() -> PresentationLoaderFactory.createLoader("xml"));
+    // Verify the progressive XML loader was created
+    mockedLoaderFactory.verify(() -> PresentationLoaderFactory.createLoader("progressive"));
 
     // Verify loadPresentation was called with filename
     verify(mockLoader, times(1)).loadPresentation(any(Presentation.class), eq("test.xml"));
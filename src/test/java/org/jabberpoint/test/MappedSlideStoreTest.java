@@ -0,0 +1,129 @@
+package org.jabberpoint.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.jabberpoint.src.io.BinaryPresentationFile;
+import org.jabberpoint.src.io.BinaryPresentationLoader;
+import org.jabberpoint.src.io.MappedPresentationLoader;
+import org.jabberpoint.src.io.MappedSlideStore;
+import org.jabberpoint.src.model.Presentation;
+import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.model.Style;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for MappedSlideStore and MappedPresentationLoader */
+class MappedSlideStoreTest {
+
+  private static final int SLIDES = 1000;
+
+  @TempDir Path tempDir;
+
+  private String deckFile;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    Style.createStyles();
+    Presentation presentation = new Presentation();
+    presentation.setTitle("Mapped Deck");
+    for (int i = 0; i < SLIDES; i++) {
+      Slide slide = new Slide();
+      slide.setTitle("Slide " + i);
+      slide.append(1, "Item of slide " + i);
+      presentation.append(slide);
+    }
+    deckFile = tempDir.resolve("mapped.jbp").toString();
+    new BinaryPresentationLoader().savePresentation(presentation, deckFile);
+  }
+
+  @Test
+  @DisplayName("Slides should be decoded on demand and cached")
+  void slidesShouldBeDecodedOnDemandAndCached() throws IOException {
+    MappedSlideStore store = new MappedSlideStore(BinaryPresentationFile.open(deckFile), 4);
+    try {
+      assertEquals(SLIDES, store.size());
+      assertEquals(0, store.getCachedSlideCount(), "Opening should not decode any slide");
+
+      Slide slide = store.get(500);
+      assertEquals("Slide 500", slide.getTitle());
+      assertSame(slide, store.get(500), "A recently used slide should come from the cache");
+    } finally {
+      store.dispose();
+    }
+  }
+
+  @Test
+  @DisplayName("The cache should stay bounded and evict the least recently used slide")
+  void cacheShouldEvictLeastRecentlyUsedSlide() throws IOException {
+    MappedSlideStore store = new MappedSlideStore(BinaryPresentationFile.open(deckFile), 3);
+    try {
+      Slide first = store.get(0);
+      Slide second = store.get(1);
+      store.get(2);
+      store.get(0); // slide 1 is now the least recently used
+      store.get(3);
+
+      assertEquals(3, store.getCachedSlideCount());
+      assertSame(first, store.get(0), "Recently used slide should still be cached");
+      Slide reloaded = store.get(1);
+      assertNotSame(second, reloaded, "Evicted slide should be decoded again");
+      assertEquals("Slide 1", reloaded.getTitle());
+    } finally {
+      store.dispose();
+    }
+  }
+
+  @Test
+  @DisplayName("Reading a slide should not wait for a lock on the store")
+  void slidesShouldBeReadWithoutLockingTheStore() throws Exception {
+    MappedSlideStore store = new MappedSlideStore(BinaryPresentationFile.open(deckFile), 4);
+    ExecutorService reader = Executors.newSingleThreadExecutor();
+    try {
+      Slide cached = store.get(0);
+      synchronized (store) {
+        Future<Slide> again = reader.submit(() -> store.get(0));
+        Future<Slide> decoded = reader.submit(() -> store.get(1));
+
+        assertSame(cached, again.get(5, TimeUnit.SECONDS));
+        assertEquals("Slide 1", decoded.get(5, TimeUnit.SECONDS).getTitle());
+      }
+    } finally {
+      reader.shutdownNow();
+      store.dispose();
+    }
+  }
+
+  @Test
+  @DisplayName("Cache size should be at least one")
+  void cacheSizeShouldBeAtLeastOne() throws IOException {
+    try (BinaryPresentationFile file = BinaryPresentationFile.open(deckFile)) {
+      assertThrows(IllegalArgumentException.class, () -> new MappedSlideStore(file, 0));
+    }
+  }
+
+  @Test
+  @DisplayName("MappedPresentationLoader should give the presentation a read-only mapped store")
+  void loaderShouldGivePresentationMappedStore() throws IOException {
+    Presentation presentation = new Presentation();
+
+    new MappedPresentationLoader().loadPresentation(presentation, deckFile);
+    presentation.setSlideNumber(SLIDES - 1);
+
+    assertTrue(presentation.getSlideStore() instanceof MappedSlideStore);
+    assertEquals("Mapped Deck", presentation.getTitle());
+    assertEquals(SLIDES, presentation.getSize());
+    assertEquals("Slide 999", presentation.getCurrentSlide().getTitle());
+    assertThrows(UnsupportedOperationException.class, () -> presentation.append(new Slide()));
+
+    presentation.clear();
+    assertEquals(0, presentation.getSize());
+  }
+}
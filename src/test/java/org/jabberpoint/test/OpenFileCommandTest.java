@@ -101,7 +101,7 @@ class OpenFileCommandTest {
       try (MockedStatic<PresentationLoaderFactory> mockedFactory =
           mockStatic(PresentationLoaderFactory.class)) {
         mockedFactory
-            .when(() -> PresentationLoaderFactory.createLoader("xml"))
+            .when(() -> PresentationLoaderFactory.createLoader("progressive"))
             .thenReturn(mockLoader);
 
         // Act
@@ -171,7 +171,7 @@ class OpenFileCommandTest {
             .when(mockLoader)
             .loadPresentation(any(Presentation.class), anyString());
         mockedFactory
-            .when(() -> PresentationLoaderFactory.createLoader("xml"))
+            .when(() -> PresentationLoaderFactory.createLoader("progressive"))
             .thenReturn(mockLoader);
 
         // Mock JOptionPane to avoid showing dialog
@@ -0,0 +1,68 @@
+package org.jabberpoint.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.jabberpoint.src.io.BinaryPresentationLoader;
+import org.jabberpoint.src.io.PresentationConverter;
+import org.jabberpoint.src.io.StaxPresentationLoader;
+import org.jabberpoint.src.model.Presentation;
+import org.jabberpoint.src.model.Style;
+import org.jabberpoint.src.model.TextItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for PresentationConverter */
+class PresentationConverterTest {
+
+  @TempDir Path tempDir;
+
+  @BeforeEach
+  void setUp() {
+    Style.createStyles();
+  }
+
+  @Test
+  @DisplayName("convert should turn XML into binary and back")
+  void convertShouldTurnXmlIntoBinaryAndBack() throws IOException {
+    Path xml = tempDir.resolve("source.xml");
+    Files.writeString(
+        xml,
+        "<presentation><showtitle>Converted</showtitle>"
+            + "<slide><title>One</title><item kind=\"text\" level=\"2\">First</item></slide>"
+            + "<slide><title>Two</title><item kind=\"image\" level=\"1\">a.png</item></slide>"
+            + "</presentation>");
+    String binary = tempDir.resolve("converted.jbp").toString();
+    String back = tempDir.resolve("back.xml").toString();
+
+    PresentationConverter.convert(xml.toString(), binary);
+    Presentation fromBinary = new Presentation();
+    new BinaryPresentationLoader().loadPresentation(fromBinary, binary);
+    PresentationConverter.convert(binary, back);
+    Presentation fromXml = new Presentation();
+    new StaxPresentationLoader().loadPresentation(fromXml, back);
+
+    for (Presentation converted : new Presentation[] {fromBinary, fromXml}) {
+      assertEquals("Converted", converted.getTitle());
+      assertEquals(2, converted.getSize());
+      assertEquals("Two", converted.getSlide(1).getTitle());
+      TextItem first = (TextItem) converted.getSlide(0).getSlideItem(0);
+      assertEquals("First", first.getText());
+      assertEquals(2, first.getLevel());
+    }
+  }
+
+  @Test
+  @DisplayName("convert should fail for a missing source")
+  void convertShouldFailForMissingSource() {
+    assertThrows(
+        IOException.class,
+        () ->
+            PresentationConverter.convert(
+                tempDir.resolve("missing.xml").toString(), tempDir.resolve("out.jbp").toString()));
+  }
+}
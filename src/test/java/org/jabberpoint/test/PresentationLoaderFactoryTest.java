@@ -2,9 +2,13 @@ package org.jabberpoint.test;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import org.jabberpoint.src.io.BinaryPresentationLoader;
 import org.jabberpoint.src.io.DemoPresentationLoader;
+import org.jabberpoint.src.io.MappedPresentationLoader;
 import org.jabberpoint.src.io.PresentationLoader;
 import org.jabberpoint.src.io.PresentationLoaderFactory;
+import org.jabberpoint.src.io.ProgressivePresentationLoader;
+import org.jabberpoint.src.io.StaxPresentationLoader;
 import org.jabberpoint.src.io.XMLPresentationLoader;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -38,6 +42,54 @@ class PresentationLoaderFactoryTest {
         "Loader should be an instance of XMLPresentationLoader");
   }
 
+  @Test
+  @DisplayName("Should create StaxPresentationLoader when type is stax")
+  void createLoaderShouldReturnStaxLoaderWhenTypeIsStax() {
+    // Act
+    PresentationLoader loader = PresentationLoaderFactory.createLoader("stax");
+
+    // Assert
+    assertTrue(
+        loader instanceof StaxPresentationLoader,
+        "Loader should be an instance of StaxPresentationLoader");
+  }
+
+  @Test
+  @DisplayName("Should create ProgressivePresentationLoader when type is progressive")
+  void createLoaderShouldReturnProgressiveLoaderWhenTypeIsProgressive() {
+    // Act
+    PresentationLoader loader = PresentationLoaderFactory.createLoader("progressive");
+
+    // Assert
+    assertTrue(
+        loader instanceof ProgressivePresentationLoader,
+        "Loader should be an instance of ProgressivePresentationLoader");
+  }
+
+  @Test
+  @DisplayName("Should create BinaryPresentationLoader when type is binary")
+  void createLoaderShouldReturnBinaryLoaderWhenTypeIsBinary() {
+    // Act
+    PresentationLoader loader = PresentationLoaderFactory.createLoader("binary");
+
+    // Assert
+    assertTrue(
+        loader instanceof BinaryPresentationLoader,
+        "Loader should be an instance of BinaryPresentationLoader");
+  }
+
+  @Test
+  @DisplayName("Should create MappedPresentationLoader when type is mapped")
+  void createLoaderShouldReturnMappedLoaderWhenTypeIsMapped() {
+    // Act
+    PresentationLoader loader = PresentationLoaderFactory.createLoader("mapped");
+
+    // Assert
+    assertTrue(
+        loader instanceof MappedPresentationLoader,
+        "Loader should be an instance of MappedPresentationLoader");
+  }
+
   @Test
   @DisplayName("Should create DemoPresentationLoader when type is demo")
   void createLoaderShouldReturnDemoLoaderWhenTypeIsDemo() {
@@ -2,9 +2,19 @@ package org.jabberpoint.test;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.jabberpoint.src.model.Presentation;
+import org.jabberpoint.src.model.PresentationChangeObserver;
+import org.jabberpoint.src.model.PresentationEvent;
 import org.jabberpoint.src.model.PresentationObserver;
 import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.model.SlideStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -185,6 +195,59 @@ class PresentationTest {
     Mockito.verify(mockObserver).update(presentation, mockSlide2);
   }
 
+  @Test
+  @DisplayName("Should notify observers on refresh without changing slide")
+  void shouldNotifyObserversOnRefreshWithoutChangingSlide() {
+    // Arrange
+    presentation.append(mockSlide1);
+    presentation.setSlideNumber(0);
+    presentation.addObserver(mockObserver);
+
+    // Act
+    presentation.append(mockSlide2);
+    presentation.refresh();
+
+    // Assert
+    assertEquals(0, presentation.getSlideNumber());
+    Mockito.verify(mockObserver).update(presentation, mockSlide1);
+  }
+
+  @Test
+  @DisplayName("Should read slides through a replaced slide store")
+  void shouldReadSlidesThroughReplacedSlideStore() {
+    // Arrange
+    SlideStore store = Mockito.mock(SlideStore.class);
+    Mockito.when(store.size()).thenReturn(1000);
+    Mockito.when(store.get(999)).thenReturn(mockSlide3);
+
+    // Act
+    presentation.setSlideStore(store);
+    presentation.setSlideNumber(999);
+
+    // Assert
+    assertSame(store, presentation.getSlideStore());
+    assertEquals(1000, presentation.getSize());
+    assertSame(mockSlide3, presentation.getCurrentSlide());
+    assertNull(presentation.getSlide(1000));
+  }
+
+  @Test
+  @DisplayName("Should dispose the slide store when the presentation is cleared")
+  void shouldDisposeSlideStoreWhenCleared() {
+    // Arrange
+    SlideStore store = Mockito.mock(SlideStore.class);
+    presentation.setSlideStore(store);
+
+    // Act
+    presentation.clear();
+    presentation.append(mockSlide1);
+
+    // Assert
+    Mockito.verify(store).dispose();
+    assertEquals(1, presentation.getSize());
+    assertSame(mockSlide1, presentation.getSlide(0));
+  }
+
   @Test
   @DisplayName("Should remove observer properly")
   void shouldRemoveObserverProperly() {
@@ -199,4 +262,190 @@ class PresentationTest {
     // Assert - observer should not be notified after removal
     Mockito.verify(mockObserver, Mockito.never()).update(Mockito.any(), Mockito.any());
   }
+
+  @Test
+  @DisplayName("Readers should see every appended slide while slides are appended")
+  void readersShouldSeeAppendedSlidesWhileAppending() throws Exception {
+    // Arrange
+    int slides = 20_000;
+    AtomicBoolean done = new AtomicBoolean();
+    AtomicInteger missing = new AtomicInteger();
+    Thread reader =
+        new Thread(
+            () -> {
+              while (!done.get()) {
+                int size = presentation.getSize();
+                if (size > 0 && presentation.getSlide(size - 1) == null) {
+                  missing.incrementAndGet();
+                }
+              }
+            });
+    reader.start();
+
+    // Act
+    for (int number = 0; number < slides; number++) {
+      presentation.append(new Slide());
+    }
+    done.set(true);
+    reader.join();
+
+    // Assert
+    assertEquals(slides, presentation.getSize());
+    assertEquals(0, missing.get(), "Every slide below the size should be readable");
+  }
+
+  @Test
+  @DisplayName("Concurrent navigation should never leave the presentation")
+  void concurrentNavigationShouldStayInRange() throws Exception {
+    // Arrange
+    presentation.append(mockSlide1);
+    presentation.append(mockSlide2);
+    presentation.append(mockSlide3);
+    presentation.setSlideNumber(0);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    // Act
+    for (int task = 0; task < 4; task++) {
+      executor.execute(
+          () -> {
+            for (int step = 0; step < 1000; step++) {
+              presentation.nextSlide();
+            }
+          });
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+    // Assert
+    assertEquals(2, presentation.getSlideNumber());
+  }
+
+  @Test
+  @DisplayName("An observer should be able to remove itself while it is notified")
+  void observerShouldRemoveItselfWhileNotified() {
+    // Arrange
+    presentation.append(mockSlide1);
+    PresentationObserver once =
+        new PresentationObserver() {
+          public void update(Presentation presentation, Slide slide) {
+            presentation.removeObserver(this);
+          }
+        };
+    presentation.addObserver(once);
+    presentation.addObserver(mockObserver);
+
+    // Act
+    presentation.setSlideNumber(0);
+    presentation.refresh();
+
+    // Assert
+    Mockito.verify(mockObserver, Mockito.times(2)).update(presentation, mockSlide1);
+  }
+
+  @Test
+  @DisplayName("Observers should be told which slides were inserted and removed")
+  void observersShouldBeToldWhichSlidesChanged() {
+    // Arrange
+    List<String> changes = new ArrayList<>();
+    presentation.addObserver(recorder(changes));
+
+    // Act
+    presentation.append(mockSlide1);
+    presentation.append(mockSlide2);
+    presentation.refresh();
+    presentation.setTitle("Title");
+    presentation.setSlideNumber(1);
+    presentation.refresh();
+    presentation.clear();
+
+    // Assert
+    assertEquals(
+        List.of(
+            "SLIDES_INSERTED 0..1",
+            "TITLE_CHANGED 0..-1",
+            "CURRENT_SLIDE_CHANGED 1..1",
+            "SLIDES_CHANGED 1..1",
+            "SLIDES_REMOVED 0..1",
+            "CURRENT_SLIDE_CHANGED -1..-1"),
+        changes);
+  }
+
+  @Test
+  @DisplayName("Changes made before a delivery should be merged")
+  void changesBeforeDeliveryShouldBeMerged() {
+    // Arrange
+    List<Runnable> deliveries = new ArrayList<>();
+    List<String> changes = new ArrayList<>();
+    presentation.setNotificationDispatcher(deliveries::add);
+    presentation.addObserver(recorder(changes));
+
+    // Act
+    for (Slide slide : List.of(mockSlide1, mockSlide2, mockSlide3)) {
+      presentation.append(slide);
+      presentation.refresh();
+    }
+    presentation.setSlideNumber(0);
+    presentation.nextSlide();
+    presentation.nextSlide();
+    deliveries.forEach(Runnable::run);
+
+    // Assert
+    assertEquals(List.of("SLIDES_INSERTED 0..2", "CURRENT_SLIDE_CHANGED 2..2"), changes);
+  }
+
+  @Test
+  @DisplayName("Appending a batch of slides should notify observers once")
+  void appendAllShouldNotifyOnce() {
+    // Arrange
+    List<Slide> slides = new ArrayList<>();
+    for (int number = 0; number < 1000; number++) {
+      slides.add(new Slide());
+    }
+    presentation.append(mockSlide1);
+    presentation.refresh();
+    presentation.addObserver(mockObserver);
+    List<String> changes = new ArrayList<>();
+    presentation.addObserver(recorder(changes));
+
+    // Act
+    presentation.appendAll(slides);
+
+    // Assert
+    assertEquals(1001, presentation.getSize());
+    assertSame(slides.get(999), presentation.getSlide(1000));
+    assertEquals(List.of("SLIDES_INSERTED 1..1000"), changes);
+    Mockito.verify(mockObserver, Mockito.times(1)).update(presentation, null);
+  }
+
+  @Test
+  @DisplayName("Replacing all slides should show the first new slide with one notification")
+  void setSlidesShouldReplaceWithOneNotification() {
+    // Arrange
+    presentation.append(mockSlide1);
+    presentation.refresh();
+    presentation.setSlideNumber(0);
+    presentation.addObserver(mockObserver);
+
+    // Act
+    presentation.setSlides(List.of(mockSlide2, mockSlide3));
+
+    // Assert
+    assertEquals(2, presentation.getSize());
+    assertEquals(0, presentation.getSlideNumber());
+    assertSame(mockSlide2, presentation.getCurrentSlide());
+    Mockito.verify(mockObserver, Mockito.times(1)).update(presentation, mockSlide2);
+  }
+
+  private static PresentationObserver recorder(List<String> changes) {
+    return new PresentationChangeObserver() {
+      public void update(Presentation presentation, Slide slide) {
+        fail("Observers that handle events should not be updated");
+      }
+
+      @Override
+      public void presentationChanged(Presentation presentation, PresentationEvent event) {
+        changes.add(event.toString());
+      }
+    };
+  }
 }
@@ -0,0 +1,189 @@
+package org.jabberpoint.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.swing.SwingUtilities;
+import org.jabberpoint.src.io.ProgressivePresentationLoader;
+import org.jabberpoint.src.model.Presentation;
+import org.jabberpoint.src.model.PresentationChangeObserver;
+import org.jabberpoint.src.model.PresentationEvent;
+import org.jabberpoint.src.model.PresentationObserver;
+import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.model.Style;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for ProgressivePresentationLoader */
+class ProgressivePresentationLoaderTest {
+
+  private final List<IOException> reportedErrors = new CopyOnWriteArrayList<>();
+  private ProgressivePresentationLoader loader;
+  private Presentation presentation;
+
+  @TempDir Path tempDir;
+
+  @BeforeEach
+  void setUp() {
+    Style.createStyles();
+    loader = new ProgressivePresentationLoader(reportedErrors::add);
+    presentation = new Presentation();
+  }
+
+  private Path writeDeck(String name, int slides, String trailer) throws IOException {
+    StringBuilder xml = new StringBuilder("<presentation><showtitle>Big Deck</showtitle>");
+    for (int i = 0; i < slides; i++) {
+      xml.append("<slide><title>Slide ")
+          .append(i + 1)
+          .append("</title><item kind=\"text\" level=\"1\">Item</item></slide>");
+    }
+    xml.append(trailer);
+    Path file = tempDir.resolve(name);
+    Files.writeString(file, xml.toString());
+    return file;
+  }
+
+  private void awaitLoaded() throws Exception {
+    loader.whenLoaded().get(10, TimeUnit.SECONDS);
+    SwingUtilities.invokeAndWait(() -> {});
+  }
+
+  @Test
+  @DisplayName("loadPresentation should return with the first slide available")
+  void loadPresentationShouldReturnWithFirstSlide() throws Exception {
+    Path deck = writeDeck("deck.xml", 200, "</presentation>");
+
+    loader.loadPresentation(presentation, deck.toString());
+
+    assertTrue(presentation.getSize() >= 1, "First slide should be available immediately");
+    assertEquals("Slide 1", presentation.getSlide(0).getTitle());
+    assertEquals(1, presentation.getSlide(0).getSize(), "First slide should be complete");
+    assertEquals("Big Deck", presentation.getTitle());
+
+    awaitLoaded();
+    assertEquals(200, presentation.getSize());
+    assertEquals("Slide 200", presentation.getSlide(199).getTitle());
+    assertTrue(reportedErrors.isEmpty());
+  }
+
+  @Test
+  @DisplayName("Observers should be told about the growing presentation")
+  void observersShouldBeToldAboutGrowingPresentation() throws Exception {
+    Path deck = writeDeck("observed.xml", 50, "</presentation>");
+    PresentationObserver observer = mock(PresentationObserver.class);
+    presentation.addObserver(observer);
+
+    loader.loadPresentation(presentation, deck.toString());
+    presentation.setSlideNumber(0);
+    awaitLoaded();
+
+    verify(observer, atLeast(2)).update(presentation, presentation.getSlide(0));
+    assertEquals(0, presentation.getSlideNumber(), "Loading should not move the current slide");
+  }
+
+  @Test
+  @DisplayName("Errors before the first slide should be thrown by loadPresentation")
+  void errorsBeforeFirstSlideShouldBeThrown() throws IOException {
+    Path broken = tempDir.resolve("broken.xml");
+    Files.writeString(broken, "<presentation><showtitle>Broken</presentation>");
+
+    assertThrows(IOException.class, () -> loader.loadPresentation(presentation, broken.toString()));
+    assertThrows(
+        IOException.class,
+        () -> loader.loadPresentation(presentation, tempDir.resolve("missing.xml").toString()));
+  }
+
+  @Test
+  @DisplayName("Errors after the first slide should be passed to the error handler")
+  void errorsAfterFirstSlideShouldBeReported() throws Exception {
+    Path deck = writeDeck("truncated.xml", 20, "<slide><title>Broken");
+
+    loader.loadPresentation(presentation, deck.toString());
+    awaitLoaded();
+
+    assertEquals(1, reportedErrors.size(), "The parse error should be reported once");
+    assertEquals(20, presentation.getSize(), "Slides before the error should be kept");
+  }
+
+  @Test
+  @DisplayName("A presentation without slides should load without errors")
+  void presentationWithoutSlidesShouldLoad() throws Exception {
+    Path deck = writeDeck("empty.xml", 0, "</presentation>");
+
+    loader.loadPresentation(presentation, deck.toString());
+    awaitLoaded();
+
+    assertEquals("Big Deck", presentation.getTitle());
+    assertEquals(0, presentation.getSize());
+    assertTrue(reportedErrors.isEmpty());
+  }
+
+  @Test
+  @DisplayName("Loading another presentation should stop the previous background load")
+  void loadingAgainShouldStopPreviousLoad() throws Exception {
+    Path first = writeDeck("first.xml", 500, "</presentation>");
+    Path second = writeDeck("second.xml", 3, "</presentation>");
+
+    loader.loadPresentation(presentation, first.toString());
+    CompletableFuture<Void> firstLoad = loader.whenLoaded();
+    loader.loadPresentation(presentation, second.toString());
+    awaitLoaded();
+    // After the cancelled worker is done its late chunks are dropped
+    firstLoad.get(10, TimeUnit.SECONDS);
+    SwingUtilities.invokeAndWait(() -> {});
+
+    assertEquals(3, presentation.getSize());
+  }
+
+  @Test
+  @DisplayName("A deck loaded by another loader should not receive the slides of the previous one")
+  void otherLoaderShouldStopThePreviousLoad() throws Exception {
+    // Arrange
+    Path first = writeDeck("first.xml", 500, "</presentation>");
+    Path second = writeDeck("second.xml", 3, "</presentation>");
+    ProgressivePresentationLoader other = new ProgressivePresentationLoader(reportedErrors::add);
+    CountDownLatch firstChunk = new CountDownLatch(1);
+    presentation.addObserver(
+        new PresentationChangeObserver() {
+          @Override
+          public void update(Presentation presentation, Slide slide) {}
+
+          @Override
+          public void presentationChanged(Presentation presentation, PresentationEvent event) {
+            if (event.getType() == PresentationEvent.Type.SLIDES_INSERTED
+                && presentation.getSize() > 1) {
+              firstChunk.countDown();
+            }
+          }
+        });
+
+    // Act: open the second deck while the first one is still appending chunks
+    loader.loadPresentation(presentation, first.toString());
+    assertTrue(firstChunk.await(10, TimeUnit.SECONDS), "The first deck should append a chunk");
+    SwingUtilities.invokeAndWait(
+        () -> {
+          try {
+            other.loadPresentation(presentation, second.toString());
+          } catch (IOException x) {
+            fail(x);
+          }
+        });
+    other.whenLoaded().get(10, TimeUnit.SECONDS);
+    awaitLoaded();
+
+    // Assert
+    assertEquals(3, presentation.getSize(), "Only the slides of the second deck should be shown");
+    assertEquals("Slide 3", presentation.getSlide(2).getTitle());
+    assertTrue(reportedErrors.isEmpty());
+  }
+}
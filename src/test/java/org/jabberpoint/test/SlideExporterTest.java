@@ -0,0 +1,114 @@
+package org.jabberpoint.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import javax.imageio.ImageIO;
+import org.jabberpoint.src.io.SlideExporter;
+import org.jabberpoint.src.model.BitmapItem;
+import org.jabberpoint.src.model.ImageCache;
+import org.jabberpoint.src.model.Presentation;
+import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.model.Style;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for SlideExporter */
+class SlideExporterTest {
+  @TempDir Path tempDir;
+
+  private Presentation presentation;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    Style.createStyles();
+    ImageCache.getInstance().clear();
+    BufferedImage red = new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = red.createGraphics();
+    g.setColor(Color.RED);
+    g.fillRect(0, 0, 200, 100);
+    g.dispose();
+    File imageFile = tempDir.resolve("red.png").toFile();
+    ImageIO.write(red, "png", imageFile);
+
+    presentation = new Presentation();
+    for (int number = 0; number < 3; number++) {
+      Slide slide = new Slide();
+      slide.setTitle("Slide " + number);
+      slide.append(1, "Some text");
+      presentation.append(slide);
+    }
+    presentation.getSlide(1).append(new BitmapItem(1, imageFile.getAbsolutePath()));
+  }
+
+  @Test
+  @DisplayName("Every slide should be written to a PNG of the chosen width")
+  void everySlideShouldBeWritten() throws Exception {
+    // Arrange
+    SlideExporter exporter = new SlideExporter(new ForkJoinPool(2), 600);
+    File directory = tempDir.resolve("export").toFile();
+
+    // Act
+    SlideExporter.Report report = exporter.export(presentation, directory);
+
+    // Assert
+    assertEquals(3, report.getSlides().size());
+    for (SlideExporter.SlideExport slide : report.getSlides()) {
+      BufferedImage image = ImageIO.read(slide.getFile());
+      assertEquals(600, image.getWidth());
+      assertEquals(400, image.getHeight());
+      assertTrue(slide.getNanos() > 0);
+    }
+    assertEquals("slide-002.png", report.getSlides().get(1).getFile().getName());
+  }
+
+  @Test
+  @DisplayName("Images should be decoded before the slide is drawn")
+  void imagesShouldBeDrawnInsteadOfPlaceholders() {
+    // Act
+    BufferedImage image = new SlideExporter().render(presentation.getSlide(1));
+
+    // Assert
+    assertTrue(contains(image, Color.RED.getRGB()), "The decoded image should be drawn");
+  }
+
+  @Test
+  @DisplayName("Tiles of a zoomed image should be decoded before the slide is drawn again")
+  void zoomedImagesShouldBeDrawnInsteadOfPlaceholderTiles() {
+    // Arrange
+    Slide slide = presentation.getSlide(1);
+    ((BitmapItem) slide.getSlideItem(slide.getSize() - 1)).setZoom(2.0f);
+
+    // Act
+    BufferedImage image = new SlideExporter().render(slide);
+
+    // Assert
+    assertTrue(contains(image, Color.RED.getRGB()), "The decoded tiles should be drawn");
+    assertFalse(
+        contains(image, new Color(230, 230, 230).getRGB()), "No placeholder tile should be drawn");
+  }
+
+  @Test
+  @DisplayName("A width that is not positive should be rejected")
+  void nonPositiveWidthShouldBeRejected() {
+    assertThrows(IllegalArgumentException.class, () -> new SlideExporter(new ForkJoinPool(1), 0));
+  }
+
+  private static boolean contains(BufferedImage image, int rgb) {
+    for (int y = 0; y < image.getHeight(); y++) {
+      for (int x = 0; x < image.getWidth(); x++) {
+        if (image.getRGB(x, y) == rgb) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+}
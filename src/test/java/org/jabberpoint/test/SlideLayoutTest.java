@@ -0,0 +1,97 @@
+package org.jabberpoint.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.font.FontRenderContext;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.model.SlideLayout;
+import org.jabberpoint.src.model.Style;
+import org.jabberpoint.src.model.TextItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for SlideLayout */
+class SlideLayoutTest {
+
+  private static final Rectangle AREA = new Rectangle(0, 0, 600, 400);
+
+  private Slide slide;
+  private FontRenderContext frc;
+
+  @BeforeEach
+  void setUp() {
+    Style.createStyles();
+    slide = new Slide();
+    slide.setTitle("Title");
+    slide.append(new TextItem(1, "First item"));
+    slide.append(new TextItem(2, "Second item"));
+    frc = new FontRenderContext(null, true, true);
+  }
+
+  @Test
+  @DisplayName("A layout should place the title and every item below each other")
+  void layoutShouldPlaceAllItems() {
+    // Act
+    SlideLayout layout = SlideLayout.layout(slide, AREA, frc, null);
+
+    // Assert
+    assertEquals(3, layout.getItemCount(), "The title and both items should be laid out");
+    assertEquals(0.5f, layout.getScale());
+    assertTrue(layout.getHeight() > 0);
+    assertTrue(layout.isFor(slide, AREA, frc));
+  }
+
+  @Test
+  @DisplayName("A layout computed on another thread should paint the slide")
+  void layoutComputedElsewhereShouldPaint() throws Exception {
+    // Arrange
+    SlideLayout layout =
+        CompletableFuture.supplyAsync(() -> SlideLayout.layout(slide, AREA, frc, null))
+            .get(5, TimeUnit.SECONDS);
+    BufferedImage image = new BufferedImage(600, 400, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = image.createGraphics();
+    g.setColor(Color.WHITE);
+    g.fillRect(0, 0, 600, 400);
+
+    // Act
+    layout.paint(g, null);
+    g.dispose();
+
+    // Assert
+    assertTrue(hasInk(image), "The text should have been painted");
+  }
+
+  @Test
+  @DisplayName("The slide should reuse its layout until it or the area changes")
+  void slideShouldReuseLayoutUntilChanged() {
+    // Act
+    SlideLayout first = slide.getLayout(AREA, frc, null);
+    SlideLayout second = slide.getLayout(AREA, frc, null);
+    SlideLayout resized = slide.getLayout(new Rectangle(0, 0, 1200, 800), frc, null);
+    slide.setTitle("Another title");
+    SlideLayout retitled = slide.getLayout(new Rectangle(0, 0, 1200, 800), frc, null);
+
+    // Assert
+    assertSame(first, second);
+    assertNotSame(second, resized);
+    assertNotSame(resized, retitled);
+  }
+
+  private static boolean hasInk(BufferedImage image) {
+    for (int y = 0; y < image.getHeight(); y++) {
+      for (int x = 0; x < image.getWidth(); x++) {
+        if ((image.getRGB(x, y) & 0xFFFFFF) != 0xFFFFFF) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,167 @@
+package org.jabberpoint.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Path;
+import javax.imageio.ImageIO;
+import org.jabberpoint.src.model.BitmapItem;
+import org.jabberpoint.src.model.Presentation;
+import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.model.Style;
+import org.jabberpoint.src.ui.SlidePrefetcher;
+import org.jabberpoint.src.ui.SlideRenderCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for SlidePrefetcher */
+class SlidePrefetcherTest {
+
+  private static final int WIDTH = 120;
+  private static final int HEIGHT = 90;
+  private static final int SLIDES = 6;
+
+  private Presentation presentation;
+  private SlideRenderCache cache;
+  private SlidePrefetcher prefetcher;
+
+  @TempDir Path tempDir;
+
+  @BeforeEach
+  void setUp() {
+    presentation = new Presentation();
+    for (int i = 0; i < SLIDES; i++) {
+      presentation.append(mock(Slide.class));
+    }
+    cache = new SlideRenderCache();
+    prefetcher = new SlidePrefetcher(cache);
+    prefetcher.setTarget(WIDTH, HEIGHT, 1.0);
+    presentation.addObserver(prefetcher);
+  }
+
+  @AfterEach
+  void tearDown() {
+    prefetcher.shutdown();
+  }
+
+  @Test
+  @DisplayName("Changing the slide should render the previous and next slide")
+  void changingSlideShouldRenderNeighbours() throws InterruptedException {
+    // Act
+    presentation.setSlideNumber(2);
+
+    // Assert
+    awaitCached(1);
+    awaitCached(3);
+    assertFalse(isCached(2), "The current slide is rendered by the viewer itself");
+    assertFalse(isCached(0), "Slides outside the window should not be rendered");
+  }
+
+  @Test
+  @DisplayName("A larger window should render more neighbours")
+  void largerWindowShouldRenderMoreNeighbours() throws InterruptedException {
+    // Arrange
+    prefetcher.setWindow(2);
+
+    // Act
+    presentation.setSlideNumber(2);
+
+    // Assert
+    awaitCached(0);
+    awaitCached(1);
+    awaitCached(3);
+    awaitCached(4);
+    assertEquals(4, prefetcher.getRenderedCount());
+  }
+
+  @Test
+  @DisplayName("Cached neighbours should not be rendered again")
+  void cachedNeighboursShouldNotBeRenderedAgain() throws InterruptedException {
+    // Arrange
+    presentation.setSlideNumber(0);
+    awaitCached(1);
+
+    // Act
+    presentation.refresh();
+    presentation.setSlideNumber(0);
+
+    // Assert
+    Thread.sleep(100);
+    assertEquals(1, prefetcher.getRenderedCount());
+  }
+
+  @Test
+  @DisplayName("Nothing should be rendered before the viewer has a size")
+  void nothingShouldBeRenderedWithoutSize() throws InterruptedException {
+    // Arrange
+    SlidePrefetcher unsized = new SlidePrefetcher(cache);
+    try {
+      // Act
+      unsized.update(presentation, presentation.getSlide(0));
+
+      // Assert
+      Thread.sleep(100);
+      assertEquals(0, unsized.getRenderedCount());
+    } finally {
+      unsized.shutdown();
+    }
+  }
+
+  @Test
+  @DisplayName("A neighbour with an image should be rendered once the image is decoded")
+  void neighbourWithImageShouldBeRenderedAfterDecoding() throws Exception {
+    // Arrange
+    Style.createStyles();
+    BufferedImage red = new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = red.createGraphics();
+    g.setColor(Color.RED);
+    g.fillRect(0, 0, 64, 48);
+    g.dispose();
+    File imageFile = tempDir.resolve("red.png").toFile();
+    ImageIO.write(red, "png", imageFile);
+    Slide slide = new Slide();
+    slide.append(new BitmapItem(1, imageFile.getAbsolutePath()));
+    Presentation images = new Presentation();
+    images.append(new Slide());
+    images.append(slide);
+    images.addObserver(prefetcher);
+
+    // Act
+    images.setSlideNumber(0);
+
+    // Assert
+    long deadline = System.currentTimeMillis() + 5000;
+    while (!cache.contains(1, slide, WIDTH, HEIGHT)) {
+      assertTrue(System.currentTimeMillis() < deadline, "The slide was not rendered");
+      Thread.sleep(10);
+    }
+    assertFalse(slide.isLoading());
+  }
+
+  @Test
+  @DisplayName("A negative window should be rejected")
+  void negativeWindowShouldBeRejected() {
+    assertThrows(IllegalArgumentException.class, () -> prefetcher.setWindow(-1));
+  }
+
+  private boolean isCached(int slideNumber) {
+    return cache.contains(slideNumber, presentation.getSlide(slideNumber), WIDTH, HEIGHT);
+  }
+
+  private void awaitCached(int slideNumber) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (!isCached(slideNumber)) {
+      if (System.currentTimeMillis() > deadline) {
+        fail("Slide " + slideNumber + " was not rendered in the background");
+      }
+      Thread.sleep(10);
+    }
+  }
+}
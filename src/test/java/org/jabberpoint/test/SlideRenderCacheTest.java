@@ -0,0 +1,184 @@
+package org.jabberpoint.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.ui.SlideRenderCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for SlideRenderCache */
+class SlideRenderCacheTest {
+
+  private static final int WIDTH = 100;
+  private static final int HEIGHT = 50;
+  private static final long IMAGE_BYTES = WIDTH * HEIGHT * 4L;
+
+  @Test
+  @DisplayName("An unchanged slide should be rendered only once")
+  void unchangedSlideShouldBeRenderedOnce() {
+    // Arrange
+    SlideRenderCache cache = new SlideRenderCache();
+    Slide slide = mock(Slide.class);
+
+    // Act
+    BufferedImage first = cache.render(0, slide, WIDTH, HEIGHT, 1.0, null);
+    BufferedImage second = cache.render(0, slide, WIDTH, HEIGHT, 1.0, null);
+
+    // Assert
+    assertSame(first, second);
+    assertEquals(WIDTH, first.getWidth());
+    assertEquals(HEIGHT, first.getHeight());
+    verify(slide, times(1))
+        .draw(any(Graphics.class), any(Rectangle.class), nullable(ImageObserver.class));
+    assertEquals(1, cache.getHits());
+    assertEquals(IMAGE_BYTES, cache.getUsedBytes());
+  }
+
+  @Test
+  @DisplayName("A different size or a different slide should be rendered again")
+  void differentSizeOrSlideShouldBeRenderedAgain() {
+    // Arrange
+    SlideRenderCache cache = new SlideRenderCache();
+    Slide slide = mock(Slide.class);
+    BufferedImage image = cache.render(0, slide, WIDTH, HEIGHT, 1.0, null);
+
+    // Act & Assert
+    assertNotSame(image, cache.render(0, slide, WIDTH * 2, HEIGHT, 1.0, null));
+    assertNotSame(image, cache.render(0, mock(Slide.class), WIDTH, HEIGHT, 1.0, null));
+  }
+
+  @Test
+  @DisplayName("The least recently used image should be evicted when the budget is exceeded")
+  void leastRecentlyUsedImageShouldBeEvicted() {
+    // Arrange
+    SlideRenderCache cache = new SlideRenderCache(2 * IMAGE_BYTES);
+    Slide first = mock(Slide.class);
+    Slide second = mock(Slide.class);
+    Slide third = mock(Slide.class);
+    cache.render(0, first, WIDTH, HEIGHT, 1.0, null);
+    cache.render(1, second, WIDTH, HEIGHT, 1.0, null);
+    cache.render(0, first, WIDTH, HEIGHT, 1.0, null); // slide 1 is now least recently used
+
+    // Act
+    cache.render(2, third, WIDTH, HEIGHT, 1.0, null);
+
+    // Assert
+    assertEquals(2, cache.getImageCount());
+    assertEquals(2 * IMAGE_BYTES, cache.getUsedBytes());
+    assertNotNull(cache.get(0, first, WIDTH, HEIGHT));
+    assertNull(cache.get(1, second, WIDTH, HEIGHT));
+    assertNotNull(cache.get(2, third, WIDTH, HEIGHT));
+  }
+
+  @Test
+  @DisplayName("Images larger than the budget should not be cached")
+  void imagesLargerThanBudgetShouldNotBeCached() {
+    // Arrange
+    SlideRenderCache cache = new SlideRenderCache(IMAGE_BYTES - 1);
+
+    // Act
+    BufferedImage image = cache.render(0, mock(Slide.class), WIDTH, HEIGHT, 1.0, null);
+
+    // Assert
+    assertNotNull(image);
+    assertEquals(0, cache.getImageCount());
+    assertEquals(0, cache.getUsedBytes());
+  }
+
+  @Test
+  @DisplayName("Lowering the budget and clearing should drop images")
+  void loweringBudgetAndClearingShouldDropImages() {
+    // Arrange
+    SlideRenderCache cache = new SlideRenderCache();
+    cache.render(0, mock(Slide.class), WIDTH, HEIGHT, 1.0, null);
+    cache.render(1, mock(Slide.class), WIDTH, HEIGHT, 1.0, null);
+
+    // Act & Assert
+    cache.setBudget(IMAGE_BYTES);
+    assertEquals(1, cache.getImageCount());
+    cache.clear();
+    assertEquals(0, cache.getImageCount());
+    assertEquals(0, cache.getUsedBytes());
+    assertThrows(IllegalArgumentException.class, () -> cache.setBudget(-1));
+  }
+
+  @Test
+  @DisplayName("Slides should be drawn scaled on HiDPI renders")
+  void slidesShouldBeDrawnScaledOnHiDpiRenders() {
+    // Arrange
+    Slide slide = mock(Slide.class);
+
+    // Act
+    BufferedImage image = SlideRenderCache.renderSlide(slide, WIDTH * 2, HEIGHT * 2, 2.0, null);
+
+    // Assert
+    assertEquals(WIDTH * 2, image.getWidth());
+    verify(slide)
+        .draw(
+            any(Graphics.class),
+            eq(new Rectangle(0, 0, WIDTH, HEIGHT)),
+            nullable(ImageObserver.class));
+  }
+
+  @Test
+  @DisplayName("Slides with images that are still loading should not be cached")
+  void slidesWithLoadingImagesShouldNotBeCached() {
+    // Arrange
+    SlideRenderCache cache = new SlideRenderCache();
+    Slide slide = mock(Slide.class);
+    when(slide.isLoading()).thenReturn(true);
+
+    // Act
+    cache.render(0, slide, WIDTH, HEIGHT, 1.0, null);
+
+    // Assert
+    assertEquals(0, cache.getImageCount());
+  }
+
+  @Test
+  @DisplayName("A slide that changed since it was rendered should be rendered again")
+  void changedSlideShouldBeRenderedAgain() {
+    // Arrange
+    SlideRenderCache cache = new SlideRenderCache();
+    Slide slide = new Slide();
+    slide.setTitle("Before");
+    BufferedImage first = cache.render(0, slide, WIDTH, HEIGHT, 1.0, null);
+
+    // Act
+    slide.setTitle("After");
+    boolean cached = cache.contains(0, slide, WIDTH, HEIGHT);
+    BufferedImage second = cache.render(0, slide, WIDTH, HEIGHT, 1.0, null);
+
+    // Assert
+    assertFalse(cached, "The image of the old revision should not be used");
+    assertNotSame(first, second);
+    assertSame(second, cache.render(0, slide, WIDTH, HEIGHT, 1.0, null));
+  }
+
+  @Test
+  @DisplayName("Invalidating a range should only drop the images of those slides")
+  void invalidateShouldDropOnlyTheRange() {
+    // Arrange
+    SlideRenderCache cache = new SlideRenderCache();
+    Slide[] slides = {mock(Slide.class), mock(Slide.class), mock(Slide.class)};
+    for (int number = 0; number < slides.length; number++) {
+      cache.render(number, slides[number], WIDTH, HEIGHT, 1.0, null);
+    }
+
+    // Act
+    cache.invalidate(1, Integer.MAX_VALUE);
+
+    // Assert
+    assertTrue(cache.contains(0, slides[0], WIDTH, HEIGHT));
+    assertFalse(cache.contains(1, slides[1], WIDTH, HEIGHT));
+    assertFalse(cache.contains(2, slides[2], WIDTH, HEIGHT));
+    assertEquals(IMAGE_BYTES, cache.getUsedBytes());
+  }
+}
@@ -0,0 +1,118 @@
+package org.jabberpoint.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import javax.swing.JScrollPane;
+import javax.swing.SwingUtilities;
+import org.jabberpoint.src.model.Presentation;
+import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.ui.SlideSorterComponent;
+import org.jabberpoint.src.ui.ThumbnailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for SlideSorterComponent */
+class SlideSorterComponentTest {
+  private static final int SLIDES = 50_000;
+
+  private Presentation presentation;
+  private ThumbnailService thumbnails;
+  private SlideSorterComponent sorter;
+  private JScrollPane scrollPane;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    presentation = new Presentation();
+    for (int number = 0; number < SLIDES; number++) {
+      Slide slide = new Slide();
+      slide.setTitle("Slide " + number);
+      presentation.append(slide);
+    }
+    presentation.setSlideNumber(0);
+    thumbnails = mock(ThumbnailService.class);
+    when(thumbnails.getWidth()).thenReturn(160);
+    when(thumbnails.request(any(Slide.class), any(BooleanSupplier.class)))
+        .thenReturn(new CompletableFuture<>());
+    SwingUtilities.invokeAndWait(
+        () -> {
+          sorter = new SlideSorterComponent(presentation, thumbnails);
+          scrollPane = new JScrollPane(sorter);
+          scrollPane.setSize(800, 600);
+          scrollPane.doLayout();
+          scrollPane.getViewport().doLayout();
+        });
+  }
+
+  @Test
+  @DisplayName("Only the thumbnails of visible slides should be requested")
+  void onlyVisibleThumbnailsShouldBeRequested() throws Exception {
+    // Act
+    SwingUtilities.invokeAndWait(this::paint);
+
+    // Assert
+    int requested = sorter.getPendingCount();
+    assertTrue(requested > 0, "The visible slides should be requested");
+    assertTrue(requested < 100, "Only the visible slides should be requested, not " + requested);
+    verify(thumbnails, times(requested)).request(any(Slide.class), any(BooleanSupplier.class));
+  }
+
+  @Test
+  @DisplayName("A slide should not be requested again while its thumbnail is being made")
+  void pendingThumbnailsShouldNotBeRequestedAgain() throws Exception {
+    // Arrange
+    SwingUtilities.invokeAndWait(this::paint);
+    int requested = sorter.getPendingCount();
+
+    // Act
+    SwingUtilities.invokeAndWait(this::paint);
+
+    // Assert
+    verify(thumbnails, times(requested)).request(any(Slide.class), any(BooleanSupplier.class));
+  }
+
+  @Test
+  @DisplayName("The selection and the current slide should follow each other")
+  void selectionShouldFollowTheCurrentSlide() throws Exception {
+    // Act
+    presentation.setSlideNumber(SLIDES - 1);
+    sorter.update(presentation, presentation.getCurrentSlide());
+    SwingUtilities.invokeAndWait(() -> {});
+    int followed = sorter.getSelectedIndex();
+    SwingUtilities.invokeAndWait(() -> sorter.setSelectedIndex(42));
+
+    // Assert
+    assertEquals(SLIDES - 1, followed, "The last slide should be selected");
+    assertEquals(42, presentation.getSlideNumber(), "Choosing a thumbnail should show its slide");
+  }
+
+  @Test
+  @DisplayName("Slides added later should appear in the sorter")
+  void addedSlidesShouldAppear() throws Exception {
+    // Arrange
+    presentation.append(new Slide());
+
+    // Act
+    sorter.update(presentation, presentation.getCurrentSlide());
+    SwingUtilities.invokeAndWait(() -> {});
+
+    // Assert
+    assertEquals(SLIDES + 1, sorter.getModel().getSize());
+  }
+
+  private void paint() {
+    BufferedImage image = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = image.createGraphics();
+    try {
+      scrollPane.paint(g);
+    } finally {
+      g.dispose();
+    }
+  }
+}
@@ -0,0 +1,192 @@
+package org.jabberpoint.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.jabberpoint.src.io.StaxPresentationLoader;
+import org.jabberpoint.src.model.BitmapItem;
+import org.jabberpoint.src.model.Presentation;
+import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.model.Style;
+import org.jabberpoint.src.model.TextItem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for StaxPresentationLoader */
+class StaxPresentationLoaderTest {
+
+  private StaxPresentationLoader staxLoader;
+  private Presentation presentation;
+  private final ByteArrayOutputStream errContent = new ByteArrayOutputStream();
+  private final PrintStream originalErr = System.err;
+
+  @TempDir Path tempDir;
+
+  @BeforeEach
+  void setUp() {
+    staxLoader = new StaxPresentationLoader();
+    presentation = new Presentation();
+    Style.createStyles();
+    System.setErr(new PrintStream(errContent));
+  }
+
+  @AfterEach
+  void tearDown() {
+    System.setErr(originalErr);
+  }
+
+  private Path writeXml(String name, String content) throws IOException {
+    Path xmlFile = tempDir.resolve(name);
+    Files.writeString(xmlFile, content);
+    return xmlFile;
+  }
+
+  @Test
+  @DisplayName("loadPresentation should stream slides and items into the presentation")
+  void loadPresentationShouldStreamSlidesAndItems() throws IOException {
+    Path xmlFile =
+        writeXml(
+            "stax.xml",
+            "<?xml version=\"1.0\"?>\n"
+                + "<presentation>\n"
+                + "<showtitle>Stax Presentation</showtitle>\n"
+                + "<slide>\n"
+                + "<title>Slide 1</title>\n"
+                + "<item kind=\"text\" level=\"1\">Text Item 1</item>\n"
+                + "<item kind=\"image\" level=\"2\">test_image.png</item>\n"
+                + "</slide>\n"
+                + "<slide>\n"
+                + "<title>Slide 2</title>\n"
+                + "<item kind=\"text\" level=\"3\">Text &amp; more</item>\n"
+                + "</slide>\n"
+                + "</presentation>");
+
+    staxLoader.loadPresentation(presentation, xmlFile.toString());
+
+    assertEquals("Stax Presentation", presentation.getTitle());
+    assertEquals(2, presentation.getSize());
+
+    Slide slide1 = presentation.getSlide(0);
+    assertEquals("Slide 1", slide1.getTitle());
+    assertEquals(2, slide1.getSize());
+    assertTrue(slide1.getSlideItem(0) instanceof TextItem);
+    assertEquals("Text Item 1", ((TextItem) slide1.getSlideItem(0)).getText());
+    assertTrue(slide1.getSlideItem(1) instanceof BitmapItem);
+    assertEquals(2, slide1.getSlideItem(1).getLevel());
+    assertEquals("test_image.png", ((BitmapItem) slide1.getSlideItem(1)).getName());
+
+    Slide slide2 = presentation.getSlide(1);
+    assertEquals("Slide 2", slide2.getTitle());
+    assertEquals("Text & more", ((TextItem) slide2.getSlideItem(0)).getText());
+    assertEquals(3, slide2.getSlideItem(0).getLevel());
+  }
+
+  @Test
+  @DisplayName("parse should hand over each slide only once it is complete")
+  void parseShouldHandOverCompleteSlides() throws IOException {
+    Path xmlFile =
+        writeXml(
+            "complete.xml",
+            "<presentation><showtitle>T</showtitle>"
+                + "<slide><title>A</title><item kind=\"text\" level=\"1\">a1</item>"
+                + "<item kind=\"text\" level=\"1\">a2</item></slide>"
+                + "<slide><title>B</title></slide></presentation>");
+    List<Integer> sizesAtHandOver = new ArrayList<>();
+
+    staxLoader.parse(
+        xmlFile.toString(), title -> {}, slide -> sizesAtHandOver.add(slide.getSize()));
+
+    assertEquals(List.of(2, 0), sizesAtHandOver);
+  }
+
+  @Test
+  @DisplayName("loadPresentation should ignore the DOCTYPE of saved presentations")
+  void loadPresentationShouldIgnoreDoctype() throws IOException {
+    Path xmlFile =
+        writeXml(
+            "doctype.xml",
+            "<?xml version=\"1.0\"?>\n"
+                + "<!DOCTYPE presentation SYSTEM \"missing/jabberpoint.dtd\">\n"
+                + "<presentation><showtitle>With Doctype</showtitle>"
+                + "<slide><title>Only</title></slide></presentation>");
+
+    staxLoader.loadPresentation(presentation, xmlFile.toString());
+
+    assertEquals("With Doctype", presentation.getTitle());
+    assertEquals(1, presentation.getSize());
+  }
+
+  @Test
+  @DisplayName("loadPresentation should handle invalid levels and unknown kinds gracefully")
+  void loadPresentationShouldHandleInvalidItemsGracefully() throws IOException {
+    Path xmlFile =
+        writeXml(
+            "invalid.xml",
+            "<presentation><showtitle>T</showtitle><slide><title>S</title>"
+                + "<item kind=\"text\" level=\"invalid\">default level</item>"
+                + "<item kind=\"unknown\" level=\"1\">skipped</item>"
+                + "</slide></presentation>");
+
+    staxLoader.loadPresentation(presentation, xmlFile.toString());
+
+    String errors = errContent.toString();
+    assertTrue(errors.contains("Number format exception for level"));
+    assertTrue(errors.contains("Unknown element type"));
+    Slide slide = presentation.getSlide(0);
+    assertEquals(1, slide.getSize(), "Unknown kinds should not be added");
+    assertEquals(1, slide.getSlideItem(0).getLevel(), "Invalid level should fall back to 1");
+  }
+
+  @Test
+  @DisplayName("loadPresentation should throw IOException for malformed XML")
+  void loadPresentationShouldThrowIOExceptionForMalformedXml() throws IOException {
+    Path xmlFile =
+        writeXml(
+            "malformed.xml",
+            "<presentation><showtitle>Broken</showtitle><slide><title>S</title></presentation>");
+
+    IOException exception =
+        assertThrows(
+            IOException.class, () -> staxLoader.loadPresentation(presentation, xmlFile.toString()));
+    assertTrue(exception.getMessage().contains("Parse error"));
+  }
+
+  @Test
+  @DisplayName("loadPresentation should throw IOException for file not found")
+  void loadPresentationShouldThrowIOExceptionForFileNotFound() {
+    String missing = tempDir.resolve("missing.xml").toString();
+
+    assertThrows(IOException.class, () -> staxLoader.loadPresentation(presentation, missing));
+    assertEquals(0, presentation.getSize());
+  }
+
+  @Test
+  @DisplayName("Files saved by the loader should load back identically")
+  void savedPresentationShouldRoundTrip() throws IOException {
+    presentation.setTitle("Round Trip");
+    Slide slide = new Slide();
+    slide.setTitle("First");
+    slide.append(new TextItem(1, "Hello"));
+    slide.append(new BitmapItem(2, "logo.png"));
+    presentation.append(slide);
+    String file = tempDir.resolve("roundtrip.xml").toString();
+
+    staxLoader.savePresentation(presentation, file);
+    Presentation loaded = new Presentation();
+    staxLoader.loadPresentation(loaded, file);
+
+    assertEquals("Round Trip", loaded.getTitle());
+    assertEquals(1, loaded.getSize());
+    assertEquals("First", loaded.getSlide(0).getTitle());
+    assertEquals(2, loaded.getSlide(0).getSize());
+  }
+}
@@ -5,6 +5,13 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.awt.Color;
 import java.awt.Font;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.jabberpoint.src.model.Style;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -64,6 +71,56 @@ class StyleTest {
     assertEquals(30.0f, scaledFont.getSize2D(), 0.001); // 20 * 1.5 = 30
   }
 
+  @Test
+  @DisplayName("Should reuse derived fonts and count hits and misses")
+  void shouldReuseDerivedFontsAndCountHitsAndMisses() {
+    // Arrange
+    style = new Style(10, Color.BLACK, 20, 10);
+
+    // Act
+    Font first = style.getFont(0.75f);
+    Font second = style.getFont(0.75f);
+
+    // Assert
+    assertSame(first, second);
+    assertEquals(1, style.getFontCacheMisses());
+    assertEquals(1, style.getFontCacheHits());
+  }
+
+  @Test
+  @DisplayName("Should round nearby scales to one cached font")
+  void shouldRoundNearbyScalesToOneCachedFont() {
+    // Arrange
+    style = new Style(10, Color.BLACK, 20, 10);
+
+    // Act - a window resized pixel by pixel gives many nearly equal scales
+    for (int width = 1000; width < 1004; width++) {
+      style.getFont(width / 1200f);
+    }
+
+    // Assert
+    assertEquals(1, style.getFontCacheMisses());
+    assertEquals(3, style.getFontCacheHits());
+    assertEquals(20 * 0.8333f, style.getFont(1000 / 1200f).getSize2D(), 20 / 64f);
+  }
+
+  @Test
+  @DisplayName("Should keep working when many different scales are used")
+  void shouldKeepWorkingWhenManyDifferentScalesAreUsed() {
+    // Arrange
+    style = new Style(10, Color.BLACK, 20, 10);
+
+    // Act - far more scales than the cache holds
+    for (int step = 1; step <= 200; step++) {
+      style.getFont(step / 16f);
+    }
+    Font font = style.getFont(1f / 16);
+
+    // Assert - the first scale was evicted and is derived again
+    assertEquals(201, style.getFontCacheMisses());
+    assertEquals(20 / 16f, font.getSize2D(), 0.001);
+  }
+
   @Test
   @DisplayName("Should initialize default styles")
   void shouldInitializeDefaultStyles() {
@@ -115,6 +172,38 @@ class StyleTest {
     assertSame(instance1, instance2);
   }
 
+  @Test
+  @DisplayName("Styles first asked for on several threads at once should be made once")
+  void stylesShouldBeMadeOnceOnSeveralThreads() throws Exception {
+    // Arrange
+    int threads = 8;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Future<Style>> styles = new ArrayList<>();
+    for (int thread = 0; thread < threads; thread++) {
+      styles.add(
+          executor.submit(
+              () -> {
+                start.await();
+                return Style.getStyle(1);
+              }));
+    }
+
+    // Act
+    start.countDown();
+
+    // Assert
+    try {
+      Style first = styles.get(0).get(5, TimeUnit.SECONDS);
+      for (Future<Style> other : styles) {
+        assertSame(first, other.get(5, TimeUnit.SECONDS));
+      }
+      assertSame(first, Style.getStyle(1));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   /** Helper method to reset the singleton instance between tests */
   private void resetSingletonInstance() {
     try {
@@ -3,9 +3,13 @@ package org.jabberpoint.test;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.awt.Graphics2D;
 import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.Field;
 import org.jabberpoint.src.model.Style;
 import org.jabberpoint.src.model.TextItem;
+import org.jabberpoint.src.model.TextRenderContext;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -92,4 +96,76 @@ class TextItemTest {
     // Empty text should have zero or very small width
     assertTrue(result.width <= 10, "Width should be small for empty text");
   }
+
+  private Object cachedLayouts(TextItem item) throws Exception {
+    Field field = TextItem.class.getDeclaredField("cachedLayouts");
+    field.setAccessible(true);
+    return field.get(item);
+  }
+
+  @Test
+  @DisplayName("draw and getBoundingBox should share the cached line layouts")
+  void drawAndGetBoundingBoxShouldShareCachedLayouts() throws Exception {
+    BufferedImage image = new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = image.createGraphics();
+    try {
+      Style style = Style.getStyle(testLevel);
+      textItem.draw(0, 0, 1.0f, g, style, null);
+      Object afterDraw = cachedLayouts(textItem);
+      Rectangle box = textItem.getBoundingBox(g, null, 1.0f, style);
+
+      assertNotNull(afterDraw, "draw should cache the line layouts");
+      assertSame(afterDraw, cachedLayouts(textItem), "getBoundingBox should reuse the layouts");
+      assertEquals(box, textItem.getBoundingBox(g, null, 1.0f, style));
+    } finally {
+      g.dispose();
+    }
+  }
+
+  @Test
+  @DisplayName("Changing the scale or invalidating should replace the cached layouts")
+  void changingScaleShouldReplaceCachedLayouts() throws Exception {
+    BufferedImage image = new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = image.createGraphics();
+    try {
+      Style style = Style.getStyle(testLevel);
+      Rectangle small = textItem.getBoundingBox(g, null, 0.5f, style);
+      Object cached = cachedLayouts(textItem);
+      Rectangle large = textItem.getBoundingBox(g, null, 1.0f, style);
+
+      assertNotSame(cached, cachedLayouts(textItem), "A new scale should not reuse the layouts");
+      assertTrue(large.height > small.height, "Layouts should follow the new scale");
+
+      textItem.invalidateLayout();
+      assertNull(cachedLayouts(textItem));
+    } finally {
+      g.dispose();
+    }
+  }
+
+  @Test
+  @DisplayName("Measuring without Graphics should match measuring on a slide image")
+  void headlessMeasurementShouldMatchPainting() {
+    for (boolean hints : new boolean[] {false, true}) {
+      // Arrange
+      TextRenderContext.configure(hints, hints);
+      TextItem item = new TextItem(1, "Measured the same with or without a screen");
+      BufferedImage image = new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB);
+      Graphics2D g = image.createGraphics();
+      TextRenderContext.applyTo(g);
+
+      try {
+        // Act
+        Rectangle headless = item.getBoundingBox(null, null, 1.5f, Style.getStyle(1));
+        Rectangle painted = item.getBoundingBox(g, null, 1.5f, Style.getStyle(1));
+
+        // Assert
+        assertEquals(painted, headless);
+        assertTrue(headless.width > 10, "The text should really be measured");
+      } finally {
+        g.dispose();
+        TextRenderContext.configure(false, false);
+      }
+    }
+  }
 }
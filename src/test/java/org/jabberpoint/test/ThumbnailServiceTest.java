@@ -0,0 +1,193 @@
+package org.jabberpoint.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import org.jabberpoint.src.model.BitmapItem;
+import org.jabberpoint.src.model.ImageCache;
+import org.jabberpoint.src.model.Slide;
+import org.jabberpoint.src.model.Style;
+import org.jabberpoint.src.ui.ThumbnailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for ThumbnailService */
+class ThumbnailServiceTest {
+  @TempDir Path tempDir;
+
+  private Slide first;
+  private Slide second;
+
+  @BeforeEach
+  void setUp() {
+    Style.createStyles();
+    first = new Slide();
+    first.setTitle("First");
+    first.append(1, "Some text");
+    second = new Slide();
+    second.setTitle("Second");
+    second.append(2, "Other text");
+  }
+
+  @Test
+  @DisplayName("Thumbnails of unchanged slides should be read from disk after a restart")
+  void unchangedSlidesShouldBeReadFromDisk() throws Exception {
+    // Arrange
+    File directory = tempDir.toFile();
+    ThumbnailService before = new ThumbnailService(directory, 120);
+    BufferedImage thumbnail = before.request(first).get(5, TimeUnit.SECONDS);
+    before.getThumbnail(second);
+    before.shutdown();
+
+    // Act
+    ThumbnailService after = new ThumbnailService(directory, 120);
+    after.getThumbnail(first);
+    after.getThumbnail(second);
+    after.getThumbnail(first);
+
+    // Assert
+    assertEquals(120, thumbnail.getWidth());
+    assertEquals(80, thumbnail.getHeight());
+    assertEquals(2, before.getRenderedCount());
+    assertEquals(0, after.getRenderedCount(), "Nothing should be rendered again");
+    assertEquals(2, after.getReadFromDiskCount(), "The second request should come from memory");
+  }
+
+  @Test
+  @DisplayName("Only an edited slide should be rendered again")
+  void editedSlideShouldBeRenderedAgain() throws Exception {
+    // Arrange
+    ThumbnailService service = new ThumbnailService(tempDir.toFile(), 120);
+    service.getThumbnail(first);
+    service.getThumbnail(second);
+    String key = ThumbnailService.getKey(first, 120);
+
+    // Act
+    first.append(1, "An added item");
+    service.getThumbnail(first);
+    service.getThumbnail(second);
+
+    // Assert
+    assertNotEquals(key, ThumbnailService.getKey(first, 120));
+    assertEquals(3, service.getRenderedCount());
+    assertNotNull(service.getCached(second));
+  }
+
+  @Test
+  @DisplayName("The key should depend on the content and the width, not on the slide object")
+  void keyShouldDependOnContent() {
+    // Arrange
+    Slide copy = new Slide();
+    copy.setTitle("First");
+    copy.append(1, "Some text");
+
+    // Act & Assert
+    assertEquals(ThumbnailService.getKey(first, 120), ThumbnailService.getKey(copy, 120));
+    assertNotEquals(ThumbnailService.getKey(first, 120), ThumbnailService.getKey(first, 240));
+    assertNotEquals(ThumbnailService.getKey(first, 120), ThumbnailService.getKey(second, 120));
+  }
+
+  @Test
+  @DisplayName("A thumbnail that is no longer wanted should not be rendered")
+  void unwantedThumbnailsShouldNotBeRendered() throws Exception {
+    // Arrange
+    ThumbnailService service = new ThumbnailService(tempDir.toFile(), 120);
+
+    // Act
+    BufferedImage thumbnail = service.request(first, () -> false).get(5, TimeUnit.SECONDS);
+    service.shutdown();
+
+    // Assert
+    assertNull(thumbnail);
+    assertEquals(0, service.getRenderedCount());
+  }
+
+  @Test
+  @DisplayName("A thumbnail in memory should no longer be given once its slide is edited")
+  void editedSlideShouldNotBeGivenFromMemory() throws Exception {
+    // Arrange
+    ThumbnailService service = new ThumbnailService(tempDir.toFile(), 120);
+    BufferedImage thumbnail = service.request(first).get(5, TimeUnit.SECONDS);
+    BufferedImage cached = service.getCached(first);
+
+    // Act
+    first.setTitle("Edited");
+
+    // Assert
+    assertSame(thumbnail, cached);
+    assertNull(service.getCached(first));
+    assertNull(service.getCached(second), "A slide that was never requested is not in memory");
+    service.shutdown();
+  }
+
+  @Test
+  @DisplayName("Thumbnails should not decode images into the shared image cache")
+  void thumbnailsShouldNotUseSharedImageCache() throws Exception {
+    // Arrange
+    BufferedImage red = new BufferedImage(1600, 1000, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = red.createGraphics();
+    g.setColor(Color.RED);
+    g.fillRect(0, 0, 1600, 1000);
+    g.dispose();
+    File imageFile = tempDir.resolve("red.png").toFile();
+    ImageIO.write(red, "png", imageFile);
+    first.append(new BitmapItem(1, imageFile.getAbsolutePath()));
+    ImageCache.getInstance().clear();
+    ThumbnailService service = new ThumbnailService(tempDir.resolve("thumbs").toFile(), 120);
+
+    // Act
+    BufferedImage thumbnail = service.getThumbnail(first);
+
+    // Assert
+    assertEquals(0, ImageCache.getInstance().getImageCount(), "The shared cache is left alone");
+    assertTrue(service.getImageCache().getImageCount() > 0);
+    assertTrue(
+        service.getImageCache().getPeakBytes() < ImageCache.sizeOf(red) / 4,
+        "The image should be decoded for the size of the thumbnail");
+    assertEquals(Color.RED.getRGB(), thumbnail.getRGB(60, 50));
+  }
+
+  @Test
+  @DisplayName("The thumbnails on disk should be kept within the maximum number of bytes")
+  void diskCacheShouldBeBounded() throws Exception {
+    // Arrange
+    File directory = tempDir.resolve("thumbs").toFile();
+    ThumbnailService service = new ThumbnailService(directory, 120, 1);
+    service.getThumbnail(first);
+
+    // Act
+    service.getThumbnail(second);
+
+    // Assert
+    File[] files = directory.listFiles((dir, name) -> name.endsWith(".png"));
+    assertEquals(1, files.length, "Only the newest thumbnail should be kept");
+    assertTrue(new File(directory, ThumbnailService.getKey(second, 120) + ".png").isFile());
+    assertNotNull(service.getCached(first), "Memory still holds the deleted thumbnail");
+  }
+
+  @Test
+  @DisplayName("Panning a zoomed image should change the key")
+  void panningShouldChangeKey() throws Exception {
+    // Arrange
+    File imageFile = tempDir.resolve("pan.png").toFile();
+    ImageIO.write(new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB), "png", imageFile);
+    BitmapItem image = new BitmapItem(1, imageFile.getAbsolutePath());
+    first.append(image);
+    image.setZoom(4.0f);
+    String key = ThumbnailService.getKey(first, 120);
+
+    // Act
+    image.pan(0.5, 0.5);
+
+    // Assert
+    assertNotEquals(key, ThumbnailService.getKey(first, 120));
+  }
+}
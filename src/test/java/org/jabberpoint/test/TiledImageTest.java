@@ -0,0 +1,169 @@
+package org.jabberpoint.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import org.jabberpoint.src.model.ImageCache;
+import org.jabberpoint.src.model.TiledImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TiledImageTest {
+  @TempDir Path tempDir;
+
+  private URL source;
+  private Dimension size = new Dimension(1024, 768);
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // A left half in red and a right half in blue
+    BufferedImage image = new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = image.createGraphics();
+    g.setColor(Color.RED);
+    g.fillRect(0, 0, size.width / 2, size.height);
+    g.setColor(Color.BLUE);
+    g.fillRect(size.width / 2, 0, size.width / 2, size.height);
+    g.dispose();
+    File file = tempDir.resolve("large.png").toFile();
+    ImageIO.write(image, "png", file);
+    source = file.toURI().toURL();
+  }
+
+  @Test
+  @DisplayName("getLevel should pick the coarsest level that still has enough pixels")
+  void getLevelShouldMatchScale() {
+    assertEquals(0, TiledImage.getLevel(0.25));
+    assertEquals(0, TiledImage.getLevel(1.9));
+    assertEquals(1, TiledImage.getLevel(2.0));
+    assertEquals(2, TiledImage.getLevel(5.0));
+  }
+
+  @Test
+  @DisplayName("readTile should decode only the region of the tile")
+  void readTileShouldDecodeRegion() throws Exception {
+    // Arrange
+    TiledImage tiled = new TiledImage(source, size, TiledImage.DEFAULT_MAX_TILES, null);
+
+    // Act
+    BufferedImage first = tiled.readTile(0, 0, 0);
+    BufferedImage last = tiled.readTile(0, 3, 2);
+    BufferedImage coarse = tiled.readTile(1, 1, 0);
+
+    // Assert
+    assertEquals(TiledImage.TILE_SIZE, first.getWidth());
+    assertEquals(Color.RED.getRGB(), first.getRGB(10, 10));
+    assertEquals(256, last.getWidth());
+    assertEquals(256, last.getHeight());
+    assertEquals(Color.BLUE.getRGB(), last.getRGB(10, 10));
+    assertEquals(256, coarse.getWidth(), "A level 1 tile covers 512 pixels at half resolution");
+  }
+
+  @Test
+  @DisplayName("draw should request the visible tiles and draw them once decoded")
+  void drawShouldRequestVisibleTiles() throws Exception {
+    // Arrange
+    CountDownLatch decoded = new CountDownLatch(1);
+    TiledImage tiled =
+        new TiledImage(source, size, TiledImage.DEFAULT_MAX_TILES, decoded::countDown);
+    BufferedImage canvas = new BufferedImage(200, 200, BufferedImage.TYPE_INT_RGB);
+    Rectangle target = new Rectangle(0, 0, 200, 200);
+    Rectangle2D viewport = new Rectangle2D.Double(800, 520, 100, 100);
+
+    // Act
+    Graphics2D g = canvas.createGraphics();
+    boolean completeFirst = tiled.draw(g, target, viewport, null);
+    assertTrue(decoded.await(5, TimeUnit.SECONDS), "The tile should be decoded");
+    while (tiled.isLoading()) {
+      Thread.sleep(10);
+    }
+    boolean completeSecond = tiled.draw(g, target, viewport, null);
+    g.dispose();
+
+    // Assert
+    assertFalse(completeFirst, "The tile should not have been decoded yet");
+    assertTrue(completeSecond, "The decoded tile should be drawn");
+    assertEquals(1, tiled.getCachedTileCount(), "Only the single visible tile should be decoded");
+    assertEquals(Color.BLUE.getRGB(), canvas.getRGB(100, 100));
+  }
+
+  @Test
+  @DisplayName("The tile cache should hold at most the maximum number of tiles")
+  void tileCacheShouldBeBounded() throws Exception {
+    // Arrange
+    TiledImage tiled = new TiledImage(source, size, 2, null);
+    BufferedImage canvas = new BufferedImage(1024, 768, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = canvas.createGraphics();
+    Rectangle target = new Rectangle(0, 0, 1024, 768);
+    Rectangle2D viewport = new Rectangle2D.Double(0, 0, 1024, 768);
+
+    // Act
+    tiled.draw(g, target, viewport, null);
+    long deadline = System.currentTimeMillis() + 5000;
+    while (tiled.isLoading() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    g.dispose();
+
+    // Assert
+    assertEquals(12, tiled.getDecodedTileCount(), "All 4 x 3 tiles should have been decoded");
+    assertEquals(2, tiled.getCachedTileCount());
+  }
+
+  @Test
+  @DisplayName("Decoded tiles should count against the budget of the image cache")
+  void tilesShouldCountAgainstImageCacheBudget() throws Exception {
+    // Arrange
+    long tileBytes = ImageCache.sizeOf(new TiledImage(source, size, 1, null).readTile(0, 0, 0));
+    ImageCache cache = new ImageCache(2 * tileBytes);
+    TiledImage tiled = new TiledImage(source, size, TiledImage.DEFAULT_MAX_TILES, null, cache);
+    BufferedImage canvas = new BufferedImage(1024, 768, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = canvas.createGraphics();
+
+    // Act
+    tiled.draw(g, new Rectangle(0, 0, 1024, 768), new Rectangle2D.Double(0, 0, 1024, 768), null);
+    long deadline = System.currentTimeMillis() + 5000;
+    while (tiled.isLoading() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    g.dispose();
+
+    // Assert
+    assertEquals(12, tiled.getDecodedTileCount());
+    assertTrue(cache.getPeakBytes() >= tileBytes, "Tiles should be counted by the cache");
+    assertTrue(cache.getUsedBytes() <= 2 * tileBytes, "Tiles should be pushed out by the budget");
+  }
+
+  @Test
+  @DisplayName("Tiles beyond the maximum should be given back to the image cache")
+  void evictedTilesShouldBeRemovedFromImageCache() throws Exception {
+    // Arrange
+    ImageCache cache = new ImageCache(ImageCache.DEFAULT_BUDGET);
+    TiledImage tiled = new TiledImage(source, size, 2, null, cache);
+    BufferedImage canvas = new BufferedImage(1024, 768, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = canvas.createGraphics();
+
+    // Act
+    tiled.draw(g, new Rectangle(0, 0, 1024, 768), new Rectangle2D.Double(0, 0, 1024, 768), null);
+    long deadline = System.currentTimeMillis() + 5000;
+    while (tiled.isLoading() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    g.dispose();
+
+    // Assert
+    assertEquals(2, cache.getImageCount(), "Only the tiles the image keeps should be held");
+  }
+}
@@ -15,6 +15,7 @@ import java.nio.file.Path;
 import org.jabberpoint.src.io.XMLPresentationLoader;
 import org.jabberpoint.src.model.BitmapItem;
 import org.jabberpoint.src.model.Presentation;
+import org.jabberpoint.src.model.PresentationObserver;
 import org.jabberpoint.src.model.Slide;
 import org.jabberpoint.src.model.SlideItem;
 import org.jabberpoint.src.model.TextItem;
@@ -440,4 +441,34 @@ class XMLPresentationLoaderTest {
       // No cleanup needed
     }
   }
+
+  @Test
+  @DisplayName("loadPresentation should replace the slides and show the first one")
+  void loadPresentationShouldReplaceSlides() throws IOException {
+    // Arrange
+    String xmlContent =
+        "<?xml version=\"1.0\"?>\n"
+            + "<presentation>\n"
+            + "<showtitle>New</showtitle>\n"
+            + "<slide><title>New 1</title></slide>\n"
+            + "<slide><title>New 2</title></slide>\n"
+            + "</presentation>";
+    Path xmlFile = tempDir.resolve("replacement.xml");
+    Files.writeString(xmlFile, xmlContent);
+    Slide old = new Slide();
+    old.setTitle("Old");
+    presentation.append(old);
+    presentation.setSlideNumber(0);
+    PresentationObserver observer = mock(PresentationObserver.class);
+    presentation.addObserver(observer);
+
+    // Act
+    xmlLoader.loadPresentation(presentation, xmlFile.toString());
+
+    // Assert
+    assertEquals(2, presentation.getSize());
+    assertEquals(0, presentation.getSlideNumber());
+    assertEquals("New 1", presentation.getCurrentSlide().getTitle());
+    verify(observer, times(2)).update(eq(presentation), any()); // the title, then the slides
+  }
 }